@@ -19,6 +19,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.LocalDateTime;
 
@@ -32,7 +33,9 @@ import java.time.LocalDateTime;
  * Main Spring Boot application class.
  * Kafka auto-configuration is excluded to prevent automatic Kafka initialization
  * unless explicitly configured.
+ * Scheduling is enabled for housekeeping tasks such as closing idle connection pools.
  */
+@EnableScheduling
 @SpringBootApplication(exclude = {KafkaAutoConfiguration.class})
 public class DummyDataGeneratorApplication {
 
@@ -0,0 +1,89 @@
+/**
+ * Configuration properties for the pooled target database connections.
+ * Bound from the {@code dummy.generator.datasource} prefix in application.properties.
+ *
+ * @author Hisham
+ */
+package com.hisham.dummydatagenerator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sizing and eviction settings for the connection pools kept per target database.
+ */
+@Component
+@ConfigurationProperties(prefix = "dummy.generator.datasource")
+public class DataSourcePoolProperties {
+
+    /** Maximum number of target databases kept pooled at once; the least recently used pool is closed beyond it */
+    private int maxPools = 20;
+
+    /** Maximum number of connections per target database */
+    private int maxPoolSize = 10;
+
+    /** Time an unused pool is kept open before it is closed */
+    private Duration poolIdleTimeout = Duration.ofMinutes(10);
+
+    /** Time an idle connection is kept inside a pool */
+    private Duration connectionIdleTimeout = Duration.ofMinutes(2);
+
+    /** Maximum time to wait for a connection from a pool */
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of tables loaded at once into one target database, across all requests.
+     * Kept below maxPoolSize so introspection and key lookups still get a connection.
+     */
+    private int maxConcurrentLoads = 8;
+
+    public int getMaxPools() {
+        return maxPools;
+    }
+
+    public void setMaxPools(int maxPools) {
+        this.maxPools = maxPools;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Duration getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    public void setPoolIdleTimeout(Duration poolIdleTimeout) {
+        this.poolIdleTimeout = poolIdleTimeout;
+    }
+
+    public Duration getConnectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    public void setConnectionIdleTimeout(Duration connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+    }
+
+    public int getMaxConcurrentLoads() {
+        return maxConcurrentLoads;
+    }
+
+    public void setMaxConcurrentLoads(int maxConcurrentLoads) {
+        this.maxConcurrentLoads = maxConcurrentLoads;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
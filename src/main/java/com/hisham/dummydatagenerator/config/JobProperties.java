@@ -0,0 +1,53 @@
+/**
+ * Configuration properties for asynchronous generation jobs.
+ * Bound from the {@code dummy.generator.jobs} prefix in application.properties.
+ *
+ * @author Hisham
+ */
+package com.hisham.dummydatagenerator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Worker pool sizing and retention settings for generation jobs.
+ */
+@Component
+@ConfigurationProperties(prefix = "dummy.generator.jobs")
+public class JobProperties {
+
+    /** Number of jobs that run at the same time */
+    private int workerThreads = 4;
+
+    /** Number of submitted jobs that may wait for a worker; submissions beyond it are rejected */
+    private int queueCapacity = 100;
+
+    /** Time a finished job stays queryable */
+    private Duration retention = Duration.ofHours(1);
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Configuration properties for the Kafka producers used by topic loads.
+ * Bound from the {@code dummy.generator.kafka} prefix in application.properties.
+ *
+ * @author Hisham
+ */
+package com.hisham.dummydatagenerator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sizing and eviction settings for the producers kept per Kafka configuration.
+ */
+@Component
+@ConfigurationProperties(prefix = "dummy.generator.kafka")
+public class KafkaProducerProperties {
+
+    /** Maximum number of producers kept open at once; the least recently used idle producer is closed beyond it */
+    private int maxProducers = 10;
+
+    /** Time an unused producer is kept open before it is closed */
+    private Duration producerIdleTimeout = Duration.ofMinutes(10);
+
+    public int getMaxProducers() {
+        return maxProducers;
+    }
+
+    public void setMaxProducers(int maxProducers) {
+        this.maxProducers = maxProducers;
+    }
+
+    public Duration getProducerIdleTimeout() {
+        return producerIdleTimeout;
+    }
+
+    public void setProducerIdleTimeout(Duration producerIdleTimeout) {
+        this.producerIdleTimeout = producerIdleTimeout;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Thread factories for the threads that run table loads and background jobs.
+ *
+ * @author Hisham
+ */
+package com.hisham.dummydatagenerator.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads that load tables and run jobs, as platform or virtual threads.
+ *
+ * Loads spend most of their time blocked on JDBC and Kafka round trips. With
+ * {@code spring.threads.virtual.enabled=true} on Java 21 or later they run on virtual threads, the same switch
+ * that moves Spring's request threads onto virtual threads. A blocked virtual thread does not hold a platform
+ * thread, so hundreds of tables or jobs can load at once and their concurrency is bounded by the connection
+ * budgets and pools of the target databases rather than by thread count. Otherwise, including on Java 17, they
+ * run on platform threads. Row generation is CPU-bound and stays on the generator pool of
+ * {@link com.hisham.dummydatagenerator.generator.DummyDataService} either way.
+ */
+@Component
+public class LoadThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadThreads.class);
+
+    /** Platform threads, for loads and jobs created outside the application context */
+    public static final LoadThreads PLATFORM = new LoadThreads(false);
+
+    private final boolean virtual;
+
+    @Autowired
+    public LoadThreads(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+        if (!virtual && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "loads run on platform threads", JavaVersion.getJavaVersion());
+        }
+    }
+
+    private LoadThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    /**
+     * Virtual threads, for loads and jobs created outside the application context.
+     *
+     * @throws IllegalStateException if the JVM has no virtual threads
+     */
+    public static LoadThreads virtual() {
+        if (!isVirtualSupported()) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + JavaVersion.getJavaVersion());
+        }
+        return new LoadThreads(true);
+    }
+
+    /**
+     * True if the JVM has virtual threads (Java 21 or later).
+     */
+    public static boolean isVirtualSupported() {
+        return JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Creates a factory of threads named prefix followed by a counter. Platform threads are daemon threads,
+     * so a stuck load does not keep the JVM alive.
+     *
+     * @param namePrefix Prefix of the thread names, e.g. {@code ddg-job-}
+     */
+    public ThreadFactory factory(String namePrefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return virtual ? "virtual threads" : "platform threads";
+    }
+}
@@ -0,0 +1,71 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.generator.RowBatch;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Writer decorator that returns the writer's connection to its pool once the writer is closed.
+ * Used by connectors to hand out writers that outlive a single method call.
+ */
+class ConnectionScopedWriter implements RowWriter {
+
+    /**
+     * Creates a writer on a given connection.
+     */
+    @FunctionalInterface
+    interface WriterFactory {
+        RowWriter open(Connection conn) throws SQLException;
+    }
+
+    private final RowWriter delegate;
+    private final Connection conn;
+
+    private ConnectionScopedWriter(RowWriter delegate, Connection conn) {
+        this.delegate = delegate;
+        this.conn = conn;
+    }
+
+    /**
+     * Borrows a connection and opens a writer on it, releasing the connection again if the writer cannot be created.
+     *
+     * @param dataSource The database connection source
+     * @param factory Creates the writer on the borrowed connection
+     * @return A writer that releases its connection on close
+     * @throws SQLException if no connection is available or the writer cannot be created
+     */
+    static RowWriter open(DataSource dataSource, WriterFactory factory) throws SQLException {
+        Connection conn = dataSource.getConnection();
+        try {
+            return new ConnectionScopedWriter(factory.open(conn), conn);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                conn.close();
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(RowBatch rows) throws SQLException {
+        delegate.write(rows);
+    }
+
+    @Override
+    public InsertStats finish() throws SQLException {
+        return delegate.finish();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            delegate.close();
+        } finally {
+            conn.close();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hisham.dummydatagenerator.connectors;
 
+import com.hisham.dummydatagenerator.dto.InsertOptions;
 import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.ForeignKeyMetadata;
 import com.hisham.dummydatagenerator.schema.TableMetadata;
 import com.ibm.as400.access.AS400;
 import com.ibm.as400.access.AS400JDBCConnection;
@@ -39,6 +41,7 @@ public class DB2iConnector implements DatabaseConnector {
     public TableMetadata getTableMetadata(DataSource dataSource, String schema, String tableName) {
         List<ColumnMetadata> columns = new ArrayList<>();
         Set<String> primaryKeys = new HashSet<>();
+        List<ForeignKeyMetadata> foreignKeys = new ArrayList<>();
 
         try (Connection conn = dataSource.getConnection()) {
             logger.debug("Fetching metadata for table {}.{}", schema, tableName);
@@ -97,51 +100,60 @@ public class DB2iConnector implements DatabaseConnector {
                 }
             }
 
+
+            // Get foreign keys: referential constraints joined to the key columns on both sides
+            logger.debug("Retrieving foreign keys for table {}.{}", schema, tableName);
+            String fkQuery = """
+                SELECT R.CONSTRAINT_NAME, FK.COLUMN_NAME AS FK_COLUMN,
+                       PK.TABLE_SCHEMA AS PK_SCHEMA, PK.TABLE_NAME AS PK_TABLE, PK.COLUMN_NAME AS PK_COLUMN
+                FROM QSYS2.SYSREFCST R
+                JOIN QSYS2.SYSKEYCST FK
+                  ON FK.CONSTRAINT_SCHEMA = R.CONSTRAINT_SCHEMA
+                 AND FK.CONSTRAINT_NAME = R.CONSTRAINT_NAME
+                JOIN QSYS2.SYSKEYCST PK
+                  ON PK.CONSTRAINT_SCHEMA = R.UNIQUE_CONSTRAINT_SCHEMA
+                 AND PK.CONSTRAINT_NAME = R.UNIQUE_CONSTRAINT_NAME
+                 AND PK.ORDINAL_POSITION = FK.ORDINAL_POSITION
+                WHERE FK.TABLE_SCHEMA = ?
+                AND FK.TABLE_NAME = ?
+                ORDER BY R.CONSTRAINT_NAME, FK.ORDINAL_POSITION
+                """;
+
+            try (PreparedStatement fkStmt = conn.prepareStatement(fkQuery)) {
+                fkStmt.setString(1, schema);
+                fkStmt.setString(2, tableName);
+                ResultSet fkSet = fkStmt.executeQuery();
+                while (fkSet.next()) {
+                    foreignKeys.add(new ForeignKeyMetadata(
+                            fkSet.getString("CONSTRAINT_NAME"),
+                            fkSet.getString("FK_COLUMN"),
+                            fkSet.getString("PK_SCHEMA"),
+                            fkSet.getString("PK_TABLE"),
+                            fkSet.getString("PK_COLUMN")
+                    ));
+                }
+            }
+
         } catch (SQLException e) {
             logger.error("Error introspecting table {}.{}", schema, tableName, e);
             throw new RuntimeException("Error introspecting table", e);
         }
 
-        return new TableMetadata(tableName, columns);
+        return new TableMetadata(tableName, columns, foreignKeys);
     }
 
     @Override
-    public void insertRows(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
-                          List<Map<String, Object>> rows) {
-        if (rows.isEmpty()) {
-            logger.debug("No rows to insert into {}.{}", schema, tableName);
-            return;
+    public RowWriter openWriter(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
+                                InsertOptions options) {
+        if (options.getWriteMode() != InsertOptions.WriteMode.INSERT) {
+            logger.warn("Write mode {} is not supported on DB2 for i, using batched inserts", options.getWriteMode());
         }
 
-        try (Connection conn = dataSource.getConnection()) {
-            // Prepare column names and placeholders for the SQL statement
-            List<ColumnMetadata> columns = metadata.getColumns();
-            List<String> colNamesList = new ArrayList<>();
-            for (ColumnMetadata col : columns) {
-                colNamesList.add(col.getColumnName());
-            }
-
-            String colNames = String.join(", ", colNamesList);
-            String placeholders = String.join(", ", Collections.nCopies(colNamesList.size(), "?"));
-            String sql = String.format("INSERT INTO %s.%s (%s) VALUES (%s)", schema, tableName, colNames, placeholders);
-
-            logger.debug("Executing insert with SQL: {}", sql);
-
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                for (Map<String, Object> row : rows) {
-                    // Set values for each column in the prepared statement
-                    for (int i = 0; i < columns.size(); i++) {
-                        Object value = row.get(columns.get(i).getColumnName());
-                        // Handle DB2 on i specific data type conversions if needed
-                        stmt.setObject(i + 1, value);
-                    }
-                    int insertResult = stmt.executeUpdate();
-                    logger.trace("Insert completed with result code: {}", insertResult);
-                }
-            }
-
+        try {
+            return ConnectionScopedWriter.open(dataSource,
+                    conn -> new JdbcBatchWriter(conn, schema, tableName, metadata.getColumns(), options));
         } catch (SQLException e) {
-            logger.error("Failed to insert rows into table {}.{}", schema, tableName, e);
+            logger.error("Failed to open writer for table {}.{}", schema, tableName, e);
             throw new RuntimeException("Insert failed", e);
         }
     }
@@ -1,13 +1,14 @@
 package com.hisham.dummydatagenerator.connectors;
 
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.generator.RowBatch;
 import com.hisham.dummydatagenerator.schema.TableMetadata;
 
 import javax.sql.DataSource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.List; 
-import java.util.Map;
+import java.util.List;
 
 public interface DatabaseConnector {
 
@@ -15,8 +16,30 @@ public interface DatabaseConnector {
 
     TableMetadata getTableMetadata(DataSource dataSource, String schema, String tableName);
 
-    void insertRows(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
-                    List<Map<String, Object>> rows);
+    default void insertRows(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
+                            RowBatch rows) {
+        insertRows(dataSource, schema, tableName, metadata, rows, new InsertOptions());
+    }
+
+    default InsertStats insertRows(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
+                                   RowBatch rows, InsertOptions options) {
+        if (rows.isEmpty()) {
+            return InsertStats.empty();
+        }
+        try (RowWriter writer = openWriter(dataSource, schema, tableName, metadata, options)) {
+            writer.write(rows);
+            return writer.finish();
+        } catch (SQLException e) {
+            throw new RuntimeException("Insert into " + schema + "." + tableName + " failed", e);
+        }
+    }
+
+    /**
+     * Opens a writer on its own connection for streaming rows into a table chunk by chunk.
+     * The connection is released when the writer is closed.
+     */
+    RowWriter openWriter(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
+                         InsertOptions options);
 
     List<String> getAllTableNames(DataSource dataSource, String schema);
 
@@ -0,0 +1,50 @@
+package com.hisham.dummydatagenerator.connectors;
+
+/**
+ * Outcome of a write into a target table: how many rows landed, in how many round trips and how fast.
+ */
+public class InsertStats {
+
+    private final long rows;
+    private final long batches;
+    private final long elapsedNanos;
+
+    public InsertStats(long rows, long batches, long elapsedNanos) {
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public static InsertStats empty() {
+        return new InsertStats(0, 0, 0);
+    }
+
+    /**
+     * Combines two results, e.g. the per-tnx stats of a multi transaction insert.
+     */
+    public InsertStats plus(InsertStats other) {
+        return new InsertStats(rows + other.rows, batches + other.batches, elapsedNanos + other.elapsedNanos);
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000d / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows in %d batch(es), %d ms (%.0f rows/sec)",
+                rows, batches, getElapsedMillis(), getRowsPerSecond());
+    }
+}
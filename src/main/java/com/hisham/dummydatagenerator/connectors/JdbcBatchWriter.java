@@ -0,0 +1,139 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched write engine shared by the JDBC connectors.
+ * Binds rows to a single INSERT prepared statement and sends them with addBatch/executeBatch,
+ * so N rows cost N / batchSize round trips instead of N.
+ *
+ * The writer owns the transaction on the connection it is given: auto-commit is switched off on creation,
+ * commits happen per batch or once in {@link #finish()} depending on {@link InsertOptions.CommitMode},
+ * and anything not committed is rolled back on {@link #close()}.
+ */
+public class JdbcBatchWriter implements RowWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final Connection conn;
+    private final PreparedStatement stmt;
+    private final int columnCount;
+    private final int batchSize;
+    private final boolean commitPerBatch;
+    private final boolean previousAutoCommit;
+    private final Timer batchLatency = LoadMetrics.jdbcBatch("insert");
+
+    private final long startNanos;
+    private int pending;
+    private long rowsWritten;
+    private long batches;
+    private boolean finished;
+
+    public JdbcBatchWriter(Connection conn, String schema, String tableName, List<ColumnMetadata> columns,
+                           InsertOptions options) throws SQLException {
+        this.conn = conn;
+        this.columnCount = columns.size();
+        this.batchSize = options.getBatchSize();
+        this.commitPerBatch = options.getCommitMode() == InsertOptions.CommitMode.BATCH;
+        this.previousAutoCommit = conn.getAutoCommit();
+
+        String sql = insertSql(schema, tableName, columns);
+        logger.debug("Executing batched insert with SQL: {} (batch size {})", sql, batchSize);
+
+        conn.setAutoCommit(false);
+        this.stmt = conn.prepareStatement(sql);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Builds the INSERT statement for the given columns, one placeholder per column.
+     */
+    public static String insertSql(String schema, String tableName, List<ColumnMetadata> columns) {
+        List<String> colNamesList = new ArrayList<>();
+        for (ColumnMetadata col : columns) {
+            colNamesList.add(col.getColumnName());
+        }
+        String colNames = String.join(", ", colNamesList);
+        String placeholders = String.join(", ", Collections.nCopies(colNamesList.size(), "?"));
+        return String.format("INSERT INTO %s.%s (%s) VALUES (%s)", schema, tableName, colNames, placeholders);
+    }
+
+    /**
+     * Adds the rows to the current batch, flushing every batchSize rows.
+     * Primitive columns are bound with setInt/setLong so their values are never boxed.
+     */
+    @Override
+    public void write(RowBatch rows) throws SQLException {
+        for (int r = 0; r < rows.size(); r++) {
+            for (int c = 0; c < columnCount; c++) {
+                switch (rows.kind(c)) {
+                    case INT -> stmt.setInt(c + 1, rows.getInt(r, c));
+                    case LONG -> stmt.setLong(c + 1, rows.getLong(r, c));
+                    default -> stmt.setObject(c + 1, rows.get(r, c));
+                }
+            }
+            stmt.addBatch();
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Flushes the last partial batch and commits.
+     */
+    @Override
+    public InsertStats finish() throws SQLException {
+        flush();
+        if (!commitPerBatch) {
+            conn.commit();
+        }
+        finished = true;
+        InsertStats stats = new InsertStats(rowsWritten, batches, System.nanoTime() - startNanos);
+        logger.debug("Batched insert finished: {}", stats);
+        return stats;
+    }
+
+    private void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        stmt.executeBatch();
+        stmt.clearBatch();
+        if (commitPerBatch) {
+            conn.commit();
+        }
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        rowsWritten += pending;
+        batches++;
+        logger.trace("Executed batch {} ({} rows so far)", batches, rowsWritten);
+        pending = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!finished) {
+                conn.rollback();
+            }
+            stmt.close();
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+        }
+    }
+}
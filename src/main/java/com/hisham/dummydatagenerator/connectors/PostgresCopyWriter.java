@@ -0,0 +1,387 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostgreSQL write path that streams rows through {@code COPY ... FROM STDIN (FORMAT binary)}.
+ * Each value is encoded straight into the COPY binary wire format by a per-column encoder resolved once
+ * from the column's data type, so no prepared statement or per-cell parameter binding is involved.
+ *
+ * With {@link InsertOptions.CommitMode#BATCH} a COPY is ended and committed every batchSize rows,
+ * otherwise a single COPY spans the whole write and is committed in {@link #finish()}.
+ */
+public class PostgresCopyWriter implements RowWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCopyWriter.class);
+
+    /** Binary COPY signature, flags field and header extension length */
+    private static final byte[] HEADER = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0, 0, 0, 0, 0};
+    /** Bytes buffered before they are pushed to the server */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    /** PostgreSQL date/timestamp epoch (2000-01-01) relative to the Unix epoch */
+    private static final long PG_EPOCH_DAYS = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final long PG_EPOCH_SECONDS = PG_EPOCH_DAYS * 86_400L;
+
+    /**
+     * Writes one non-null value in binary format, including its int32 length prefix.
+     */
+    @FunctionalInterface
+    interface FieldEncoder {
+        void encode(DataOutputStream out, Object value) throws IOException;
+    }
+
+    private final Connection conn;
+    private final CopyManager copyManager;
+    private final String sql;
+    private final List<ColumnMetadata> columns;
+    private final FieldEncoder[] encoders;
+    /** Field width of each integer column (2, 4 or 8 bytes), 0 for other columns */
+    private final int[] integerWidths;
+    private final int batchSize;
+    private final boolean commitPerBatch;
+    private final boolean previousAutoCommit;
+    /** Time to complete each COPY, from sending its trailer until the server has applied it */
+    private final Timer batchLatency = LoadMetrics.jdbcBatch("copy");
+
+    private final CopyBuffer buffer = new CopyBuffer();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    private final long startNanos;
+    private CopyIn copyIn;
+    private int pending;
+    private long rowsWritten;
+    private long batches;
+    private boolean finished;
+
+    public PostgresCopyWriter(Connection conn, String schema, String tableName, List<ColumnMetadata> columns,
+                              InsertOptions options) throws SQLException {
+        this.conn = conn;
+        this.copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+        this.columns = columns;
+        this.batchSize = options.getBatchSize();
+        this.commitPerBatch = options.getCommitMode() == InsertOptions.CommitMode.BATCH;
+        this.previousAutoCommit = conn.getAutoCommit();
+
+        List<String> colNamesList = new ArrayList<>();
+        this.encoders = new FieldEncoder[columns.size()];
+        this.integerWidths = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMetadata column = columns.get(i);
+            colNamesList.add(column.getColumnName());
+            encoders[i] = encoderFor(column);
+            integerWidths[i] = integerWidth(column);
+        }
+        this.sql = String.format("COPY %s.%s (%s) FROM STDIN (FORMAT binary)",
+                schema, tableName, String.join(", ", colNamesList));
+        logger.debug("Executing binary copy with SQL: {}", sql);
+
+        conn.setAutoCommit(false);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Checks whether the connection can be driven through the pgjdbc CopyManager.
+     */
+    public static boolean isSupported(Connection conn) throws SQLException {
+        return conn.isWrapperFor(PGConnection.class);
+    }
+
+    @Override
+    public void write(RowBatch rows) throws SQLException {
+        try {
+            for (int r = 0; r < rows.size(); r++) {
+                if (copyIn == null) {
+                    copyIn = copyManager.copyIn(sql);
+                    out.write(HEADER);
+                }
+                out.writeShort(columns.size());
+                for (int i = 0; i < encoders.length; i++) {
+                    if (integerWidths[i] > 0 && rows.isIntegral(i)) {
+                        writeInteger(out, integerWidths[i], rows.getLong(r, i));
+                        continue;
+                    }
+                    if (rows.kind(i) == RowBatch.ColumnKind.TIMESTAMP) {
+                        writeTimestamp(out, rows.getEpochMicros(r, i));
+                        continue;
+                    }
+                    Object value = rows.get(r, i);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        encoders[i].encode(out, value);
+                    }
+                }
+                if (buffer.size() >= FLUSH_THRESHOLD) {
+                    buffer.drainTo(copyIn);
+                }
+                if (++pending == batchSize && commitPerBatch) {
+                    endCopy();
+                    conn.commit();
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to encode row for binary copy", e);
+        }
+    }
+
+    @Override
+    public InsertStats finish() throws SQLException {
+        try {
+            endCopy();
+        } catch (IOException e) {
+            throw new SQLException("Failed to finish binary copy", e);
+        }
+        conn.commit();
+        finished = true;
+        InsertStats stats = new InsertStats(rowsWritten, batches, System.nanoTime() - startNanos);
+        logger.debug("Binary copy finished: {}", stats);
+        return stats;
+    }
+
+    private void endCopy() throws IOException, SQLException {
+        if (copyIn == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        out.writeShort(-1);
+        buffer.drainTo(copyIn);
+        rowsWritten += copyIn.endCopy();
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batches++;
+        logger.trace("Completed copy {} ({} rows so far)", batches, rowsWritten);
+        copyIn = null;
+        pending = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            if (!finished) {
+                conn.rollback();
+            }
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    /**
+     * Resolves the binary encoder for a column from its PostgreSQL type name.
+     * Unknown types only accept nulls, which is what the generators produce for them.
+     */
+    static FieldEncoder encoderFor(ColumnMetadata column) {
+        String type = column.getDataType() != null ? column.getDataType().toLowerCase() : "";
+        return switch (type) {
+            case "int2", "smallint", "smallserial" -> (out, v) -> {
+                out.writeInt(2);
+                out.writeShort(((Number) v).shortValue());
+            };
+            case "int4", "int", "integer", "serial" -> (out, v) -> {
+                out.writeInt(4);
+                out.writeInt(((Number) v).intValue());
+            };
+            case "int8", "bigint", "bigserial" -> (out, v) -> {
+                out.writeInt(8);
+                out.writeLong(((Number) v).longValue());
+            };
+            case "float4", "real" -> (out, v) -> {
+                out.writeInt(4);
+                out.writeFloat(((Number) v).floatValue());
+            };
+            case "float8", "double precision" -> (out, v) -> {
+                out.writeInt(8);
+                out.writeDouble(((Number) v).doubleValue());
+            };
+            case "numeric", "decimal" -> (out, v) -> writeNumeric(out, toBigDecimal(v));
+            case "money" -> (out, v) -> {
+                out.writeInt(8);
+                out.writeLong(parseMoney(v).movePointRight(2).longValue());
+            };
+            case "bool", "boolean" -> (out, v) -> {
+                out.writeInt(1);
+                out.writeByte((Boolean) v ? 1 : 0);
+            };
+            case "varchar", "text", "bpchar", "char", "name" -> (out, v) -> {
+                byte[] bytes = v.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            };
+            case "bytea" -> (out, v) -> {
+                byte[] bytes = (byte[]) v;
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            };
+            case "date" -> (out, v) -> {
+                out.writeInt(4);
+                out.writeInt((int) (toLocalDate(v).toEpochDay() - PG_EPOCH_DAYS));
+            };
+            case "timestamp", "timestamptz" -> (out, v) -> {
+                Instant instant = toInstant(v);
+                writeTimestamp(out, instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000);
+            };
+            default -> (out, v) -> {
+                throw new IOException("Binary copy does not support type " + column.getDataType()
+                        + " of column " + column.getColumnName());
+            };
+        };
+    }
+
+    /**
+     * Width in bytes of an integer column's binary representation, or 0 if the column is not an integer type.
+     */
+    static int integerWidth(ColumnMetadata column) {
+        String type = column.getDataType() != null ? column.getDataType().toLowerCase() : "";
+        return switch (type) {
+            case "int2", "smallint", "smallserial" -> 2;
+            case "int4", "int", "integer", "serial" -> 4;
+            case "int8", "bigint", "bigserial" -> 8;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Writes an integer field of the given width from a primitive value, including its length prefix.
+     */
+    static void writeInteger(DataOutputStream out, int width, long value) throws IOException {
+        out.writeInt(width);
+        switch (width) {
+            case 2 -> out.writeShort((short) value);
+            case 4 -> out.writeInt((int) value);
+            default -> out.writeLong(value);
+        }
+    }
+
+    /**
+     * Writes a timestamp field from microseconds since the Unix epoch, including its length prefix.
+     */
+    static void writeTimestamp(DataOutputStream out, long epochMicros) throws IOException {
+        out.writeInt(8);
+        out.writeLong(epochMicros - PG_EPOCH_SECONDS * 1_000_000L);
+    }
+
+    /**
+     * Writes a numeric in the server's binary layout: base-10000 digit groups preceded by
+     * ndigits, weight, sign and display scale.
+     */
+    static void writeNumeric(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        String plain = value.abs().toPlainString();
+        int dot = plain.indexOf('.');
+        String intPart = dot < 0 ? plain : plain.substring(0, dot);
+        String fracPart = dot < 0 ? "" : plain.substring(dot + 1);
+        intPart = intPart.replaceFirst("^0+", "");
+
+        String paddedInt = "0".repeat((4 - intPart.length() % 4) % 4) + intPart;
+        String paddedFrac = fracPart + "0".repeat((4 - fracPart.length() % 4) % 4);
+        String groups = paddedInt + paddedFrac;
+
+        List<Short> digits = new ArrayList<>();
+        for (int i = 0; i < groups.length(); i += 4) {
+            digits.add(Short.parseShort(groups.substring(i, i + 4)));
+        }
+        int weight = paddedInt.length() / 4 - 1;
+        while (!digits.isEmpty() && digits.get(0) == 0) {
+            digits.remove(0);
+            weight--;
+        }
+        while (!digits.isEmpty() && digits.get(digits.size() - 1) == 0) {
+            digits.remove(digits.size() - 1);
+        }
+        if (digits.isEmpty()) {
+            weight = 0;
+        }
+
+        out.writeInt(8 + 2 * digits.size());
+        out.writeShort(digits.size());
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? 0x4000 : 0x0000);
+        out.writeShort(value.scale());
+        for (short digit : digits) {
+            out.writeShort(digit);
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal bd) {
+            return bd;
+        }
+        if (value instanceof BigInteger bi) {
+            return new BigDecimal(bi);
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static BigDecimal parseMoney(Object value) {
+        if (value instanceof Number) {
+            return toBigDecimal(value);
+        }
+        return new BigDecimal(value.toString().replace("$", "").replace(",", "").trim());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof OffsetDateTime odt) {
+            return odt.toInstant();
+        }
+        if (value instanceof LocalDateTime ldt) {
+            return ldt.toInstant(ZoneOffset.UTC);
+        }
+        if (value instanceof java.sql.Timestamp ts) {
+            return ts.toLocalDateTime().toInstant(ZoneOffset.UTC);
+        }
+        return (Instant) value;
+    }
+
+    /**
+     * Byte buffer that hands its backing array to the copy stream without an intermediate copy.
+     */
+    private static class CopyBuffer extends ByteArrayOutputStream {
+        CopyBuffer() {
+            super(FLUSH_THRESHOLD + 8 * 1024);
+        }
+
+        void drainTo(CopyIn copyIn) throws SQLException {
+            if (count > 0) {
+                copyIn.writeToCopy(buf, 0, count);
+                reset();
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hisham.dummydatagenerator.connectors;
 
+import com.hisham.dummydatagenerator.dto.InsertOptions;
 import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.ForeignKeyMetadata;
 import com.hisham.dummydatagenerator.schema.TableMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,18 +50,19 @@ public class RelationalDatabaseConnector implements DatabaseConnector {
     }
 
     /**
-     * Retrieves metadata for a specific table, including column information and primary keys.
+     * Retrieves metadata for a specific table, including column information, primary keys and foreign keys.
      * 
      * @param dataSource The database connection source
      * @param schema The database schema name
      * @param tableName The name of the table to introspect
-     * @return TableMetadata object containing column definitions and primary key information
+     * @return TableMetadata object containing column definitions, primary key and foreign key information
      * @throws RuntimeException if there's an error accessing the database metadata
      */
     @Override
     public TableMetadata getTableMetadata(DataSource dataSource, String schema, String tableName) {
         List<ColumnMetadata> columns = new ArrayList<>();
         Set<String> primaryKeys = new HashSet<>();
+        List<ForeignKeyMetadata> foreignKeys = new ArrayList<>();
 
         try (Connection conn = dataSource.getConnection()) {
             logger.debug("Fetching metadata for table {}.{}", schema, tableName);
@@ -94,63 +97,83 @@ public class RelationalDatabaseConnector implements DatabaseConnector {
                 columns.add(column);
             }
 
+
+            // Finally, get the foreign keys so parents can be loaded before their children
+            logger.debug("Retrieving foreign keys for table {}.{}", schema, tableName);
+            ResultSet fkSet = meta.getImportedKeys(null, schema, tableName);
+            while (fkSet.next()) {
+                foreignKeys.add(new ForeignKeyMetadata(
+                        fkSet.getString("FK_NAME"),
+                        fkSet.getString("FKCOLUMN_NAME"),
+                        fkSet.getString("PKTABLE_SCHEM"),
+                        fkSet.getString("PKTABLE_NAME"),
+                        fkSet.getString("PKCOLUMN_NAME")
+                ));
+            }
+
         } catch (SQLException e) {
             logger.error("Error introspecting table {}.{}", schema, tableName, e);
             throw new RuntimeException("Error introspecting table", e);
         }
 
-        return new TableMetadata(tableName, columns);
+        return new TableMetadata(tableName, columns, foreignKeys);
     }
 
     /**
-     * Inserts multiple rows into a specified table using batch processing.
-     * Uses prepared statements for safe parameter binding and better performance.
+     * Opens a writer for the table using the write path selected in the options.
+     * By default rows are bound to a single prepared statement and sent in batches of
+     * {@link InsertOptions#getBatchSize()}; PostgreSQL targets can use binary COPY and SQL Server targets
+     * bulk copy instead.
+     * Commits happen per batch or once when the writer is finished, as configured.
      * 
      * @param dataSource The database connection source
      * @param schema The database schema name
      * @param tableName The target table name
      * @param metadata The table metadata containing column information
-     * @param rows List of maps containing column name to value mappings for each row
-     * @throws RuntimeException if there's an error during the insert operation
+     * @param options Write mode, batch size and commit mode for the write
+     * @return A writer holding its own connection until closed
+     * @throws RuntimeException if the connection or the writer cannot be opened
      */
     @Override
-    public void insertRows(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
-                           List<Map<String, Object>> rows) {
-        if (rows.isEmpty()) {
-            logger.debug("No rows to insert into {}.{}", schema, tableName);
-            return;
+    public RowWriter openWriter(DataSource dataSource, String schema, String tableName, TableMetadata metadata,
+                                InsertOptions options) {
+        try {
+            return ConnectionScopedWriter.open(dataSource,
+                    conn -> openWriter(conn, schema, tableName, metadata, options));
+        } catch (SQLException e) {
+            logger.error("Failed to open writer for table {}.{}", schema, tableName, e);
+            throw new RuntimeException("Insert failed", e);
         }
+    }
 
-        try (Connection conn = dataSource.getConnection()) {
-            // Prepare column names and placeholders for the SQL statement
-            List<ColumnMetadata> columns = metadata.getColumns();
-            List<String> colNamesList = new ArrayList<>();
-            for (ColumnMetadata col : columns) {
-                colNamesList.add(col.getColumnName());
+    /**
+     * Opens the writer matching the requested write mode and the connected database.
+     * Falls back to batched inserts when the requested bulk path is not available for the connection.
+     *
+     * @param conn The database connection the writer will own until closed
+     * @param schema The database schema name
+     * @param tableName The target table name
+     * @param metadata The table metadata containing column information
+     * @param options The insert options selecting the write mode
+     * @return A writer ready to accept rows
+     * @throws SQLException if the writer cannot be prepared
+     */
+    private RowWriter openWriter(Connection conn, String schema, String tableName, TableMetadata metadata,
+                                 InsertOptions options) throws SQLException {
+        if (options.getWriteMode() == InsertOptions.WriteMode.COPY) {
+            if (PostgresCopyWriter.isSupported(conn)) {
+                return new PostgresCopyWriter(conn, schema, tableName, metadata.getColumns(), options);
             }
-
-            String colNames = String.join(", ", colNamesList);
-            String placeholders = String.join(", ", Collections.nCopies(colNamesList.size(), "?"));
-            String sql = String.format("INSERT INTO %s.%s (%s) VALUES (%s)", schema, tableName, colNames, placeholders);
-
-            logger.debug("Executing insert with SQL: {}", sql);
-
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                for (Map<String, Object> row : rows) {
-                    // Set values for each column in the prepared statement
-                    for (int i = 0; i < columns.size(); i++) {
-                        Object value = row.get(columns.get(i).getColumnName());
-                        stmt.setObject(i + 1, value);
-                    }
-                    int insertResult = stmt.executeUpdate();
-                    logger.trace("Insert completed with result code: {}", insertResult);
-                }
+            logger.warn("COPY is only supported for PostgreSQL, using batched inserts for {}.{}", schema, tableName);
+        }
+        if (options.getWriteMode() == InsertOptions.WriteMode.BULK_COPY) {
+            if (SqlServerBulkCopyWriter.isSupported(conn)) {
+                return new SqlServerBulkCopyWriter(conn, schema, tableName, metadata.getColumns(), options);
             }
-
-        } catch (SQLException e) {
-            logger.error("Failed to insert rows into table {}.{}", schema, tableName, e);
-            throw new RuntimeException("Insert failed", e);
+            logger.warn("BULK_COPY is only supported for SQL Server, using batched inserts for {}.{}",
+                    schema, tableName);
         }
+        return new JdbcBatchWriter(conn, schema, tableName, metadata.getColumns(), options);
     }
 
     /**
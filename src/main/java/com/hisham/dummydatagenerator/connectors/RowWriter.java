@@ -0,0 +1,34 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.generator.RowBatch;
+
+import java.sql.SQLException;
+
+/**
+ * A write path into a single target table.
+ * Implementations own the connection's transaction for their lifetime: rows handed to {@link #write(RowBatch)}
+ * become visible once {@link #finish()} returns (or earlier when committing per batch), and
+ * {@link #close()} discards anything that was not finished.
+ */
+public interface RowWriter extends AutoCloseable {
+
+    /**
+     * Sends rows to the target table, buffering them as the implementation sees fit.
+     * The batch may be reused by the caller once this returns, so implementations must not keep a reference to it.
+     *
+     * @param rows Rows laid out in the order of the table's columns
+     * @throws SQLException if the database rejects the data
+     */
+    void write(RowBatch rows) throws SQLException;
+
+    /**
+     * Flushes anything still buffered and commits.
+     *
+     * @return Statistics for everything written through this writer
+     * @throws SQLException if the final flush or the commit fails
+     */
+    InsertStats finish() throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,247 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import io.micrometer.core.instrument.Timer;
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * SQL Server write path that streams rows through {@link SQLServerBulkCopy}.
+ * Generated rows are exposed to the driver through an {@link ISQLServerBulkData} adapter, so they go out
+ * over the TDS bulk load protocol instead of one INSERT per row. With {@link InsertOptions#isTableLock()}
+ * the load takes a bulk update table lock, which allows minimal logging on suitable recovery models.
+ *
+ * With {@link InsertOptions.CommitMode#BATCH} every bulk copy batch runs in its own internal transaction,
+ * otherwise the whole write shares the connection's transaction and is committed in {@link #finish()}.
+ */
+public class SqlServerBulkCopyWriter implements RowWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlServerBulkCopyWriter.class);
+
+    private final Connection conn;
+    private final SQLServerBulkCopy bulkCopy;
+    private final List<ColumnMetadata> columns;
+    private final int[] jdbcTypes;
+    private final int batchSize;
+    private final boolean commitPerBatch;
+    private final boolean previousAutoCommit;
+    private final Timer batchLatency = LoadMetrics.jdbcBatch("bulk_copy");
+
+    private final long startNanos;
+    private long rowsWritten;
+    private long batches;
+    private boolean finished;
+
+    public SqlServerBulkCopyWriter(Connection conn, String schema, String tableName, List<ColumnMetadata> columns,
+                                   InsertOptions options) throws SQLException {
+        this.conn = conn;
+        this.columns = columns;
+        this.batchSize = options.getBatchSize();
+        this.commitPerBatch = options.getCommitMode() == InsertOptions.CommitMode.BATCH;
+        this.previousAutoCommit = conn.getAutoCommit();
+
+        this.jdbcTypes = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            jdbcTypes[i] = jdbcType(columns.get(i));
+        }
+
+        SQLServerBulkCopyOptions copyOptions = new SQLServerBulkCopyOptions();
+        copyOptions.setBatchSize(batchSize);
+        copyOptions.setTableLock(options.isTableLock());
+        copyOptions.setKeepNulls(true);
+        copyOptions.setUseInternalTransaction(commitPerBatch);
+        copyOptions.setBulkCopyTimeout(0);
+
+        // Internal transactions cannot be combined with an open external one
+        conn.setAutoCommit(commitPerBatch);
+        this.bulkCopy = new SQLServerBulkCopy(conn.unwrap(ISQLServerConnection.class));
+        bulkCopy.setBulkCopyOptions(copyOptions);
+        bulkCopy.setDestinationTableName(schema + "." + tableName);
+        for (int i = 0; i < columns.size(); i++) {
+            bulkCopy.addColumnMapping(i + 1, columns.get(i).getColumnName());
+        }
+        logger.debug("Executing bulk copy into {}.{} (batch size {}, table lock {})",
+                schema, tableName, batchSize, options.isTableLock());
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Checks whether the connection belongs to the Microsoft SQL Server driver.
+     */
+    public static boolean isSupported(Connection conn) throws SQLException {
+        return conn.isWrapperFor(ISQLServerConnection.class);
+    }
+
+    @Override
+    public void write(RowBatch rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        bulkCopy.writeToServer(new RowRecord(columns, jdbcTypes, rows));
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        rowsWritten += rows.size();
+        batches += (rows.size() + batchSize - 1) / batchSize;
+        logger.trace("Bulk copied {} rows so far", rowsWritten);
+    }
+
+    @Override
+    public InsertStats finish() throws SQLException {
+        if (!commitPerBatch) {
+            conn.commit();
+        }
+        finished = true;
+        InsertStats stats = new InsertStats(rowsWritten, batches, System.nanoTime() - startNanos);
+        logger.debug("Bulk copy finished: {}", stats);
+        return stats;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            bulkCopy.close();
+            if (!finished && !commitPerBatch) {
+                conn.rollback();
+            }
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    /**
+     * Maps a SQL Server type name to the JDBC type the driver should expect for generated values.
+     */
+    static int jdbcType(ColumnMetadata column) {
+        // Identity columns are reported as e.g. "int identity"
+        String type = column.getDataType() != null ? column.getDataType().toLowerCase().split(" ")[0] : "";
+        return switch (type) {
+            case "tinyint" -> Types.TINYINT;
+            case "smallint" -> Types.SMALLINT;
+            case "int" -> Types.INTEGER;
+            case "bigint" -> Types.BIGINT;
+            case "bit" -> Types.BIT;
+            case "decimal", "numeric", "money", "smallmoney" -> Types.DECIMAL;
+            case "float" -> Types.DOUBLE;
+            case "real" -> Types.REAL;
+            case "date" -> Types.DATE;
+            case "datetime", "datetime2", "smalldatetime" -> Types.TIMESTAMP;
+            case "datetimeoffset" -> microsoft.sql.Types.DATETIMEOFFSET;
+            case "nchar", "nvarchar", "ntext" -> Types.NVARCHAR;
+            case "binary", "varbinary", "image" -> Types.VARBINARY;
+            default -> Types.VARCHAR;
+        };
+    }
+
+    /**
+     * Converts generator output into the Java type the driver expects for the column's JDBC type.
+     */
+    static Object convert(Object value, int jdbcType) {
+        if (value == null) {
+            return null;
+        }
+        return switch (jdbcType) {
+            case Types.BIGINT -> value instanceof BigInteger bi ? bi.longValue() : value;
+            case Types.DECIMAL -> value instanceof String s
+                    ? new BigDecimal(s.replace("$", "").replace(",", "").trim())
+                    : value;
+            case Types.DATE -> value instanceof LocalDate date ? java.sql.Date.valueOf(date) : value;
+            case Types.TIMESTAMP -> {
+                if (value instanceof OffsetDateTime odt) {
+                    yield Timestamp.valueOf(odt.toLocalDateTime());
+                }
+                yield value instanceof LocalDateTime ldt ? Timestamp.valueOf(ldt) : value;
+            }
+            case microsoft.sql.Types.DATETIMEOFFSET -> value instanceof OffsetDateTime odt
+                    ? microsoft.sql.DateTimeOffset.valueOf(Timestamp.from(odt.toInstant()),
+                            odt.getOffset().getTotalSeconds() / 60)
+                    : value;
+            default -> value;
+        };
+    }
+
+    /**
+     * Bulk data adapter that hands rows to the driver one at a time in column ordinal order.
+     */
+    static class RowRecord implements ISQLServerBulkData {
+
+        private final List<ColumnMetadata> columns;
+        private final int[] jdbcTypes;
+        private final RowBatch rows;
+        private int current = -1;
+
+        RowRecord(List<ColumnMetadata> columns, int[] jdbcTypes, RowBatch rows) {
+            this.columns = columns;
+            this.jdbcTypes = jdbcTypes;
+            this.rows = rows;
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            Set<Integer> ordinals = new LinkedHashSet<>();
+            IntStream.rangeClosed(1, columns.size()).forEach(ordinals::add);
+            return ordinals;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns.get(column - 1).getColumnName();
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return jdbcTypes[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            Integer size = columns.get(column - 1).getColumnSize();
+            return size != null ? size : 0;
+        }
+
+        @Override
+        public int getScale(int column) {
+            Integer scale = columns.get(column - 1).getDecimalDigits();
+            return scale != null ? scale : 0;
+        }
+
+        @Override
+        public Object[] getRowData() {
+            Object[] data = new Object[columns.size()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = convert(rows.get(current, i), jdbcTypes[i]);
+            }
+            return data;
+        }
+
+        @Override
+        public boolean next() {
+            if (current + 1 >= rows.size()) {
+                return false;
+            }
+            current++;
+            return true;
+        }
+    }
+}
@@ -12,18 +12,23 @@
  */
 package com.hisham.dummydatagenerator.controller;
 
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.dto.JobStatus;
 import com.hisham.dummydatagenerator.generator.DummyDataService;
+import com.hisham.dummydatagenerator.generator.PrimaryKeyStrategy;
+import com.hisham.dummydatagenerator.generator.RandomStreams;
+import com.hisham.dummydatagenerator.job.JobService;
+import com.hisham.dummydatagenerator.job.ProgressTracker;
 import com.hisham.dummydatagenerator.schema.DatabaseIntrospector;
 import com.hisham.dummydatagenerator.schema.TableMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import javax.sql.DataSource;
-import java.util.List;
-import java.util.Map;
 
 /**
  * REST controller for dummy data generation operations.
@@ -44,6 +49,9 @@ public class DummyDataController {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private JobService jobService;
+
     /**
      * Generates and inserts dummy data into a specified table.
      * Supports multiple transactions and configurable number of rows per transaction.
@@ -52,27 +60,56 @@ public class DummyDataController {
      * @param table Table name
      * @param rows Number of rows to generate per transaction (default: 100)
      * @param tnx Number of transactions to perform (default: 1)
+     * @param seed Optional seed; the same seed, rows and tnx generate the same data again
      * @return String message indicating the total number of rows inserted
      */
     @PostMapping("/{schema}/{table}")
     public String generateData(@PathVariable String schema,
                              @PathVariable String table,
                              @RequestParam(defaultValue = "100") int rows,
-                             @RequestParam(defaultValue = "1") int tnx) {
+                             @RequestParam(defaultValue = "1") int tnx,
+                             @RequestParam(required = false) Long seed) {
+        return generateData(schema, table, rows, tnx, seed, ProgressTracker.NONE);
+    }
 
+    /**
+     * Submits the same load as {@link #generateData(String, String, int, int, Long)} as a background job.
+     * Selected with the {@code async=true} request parameter.
+     *
+     * @return 202 with the job status; poll /jobs/{id} for progress
+     */
+    @PostMapping(value = "/{schema}/{table}", params = "async=true")
+    public ResponseEntity<JobStatus> generateDataAsync(@PathVariable String schema,
+                                                       @PathVariable String table,
+                                                       @RequestParam(defaultValue = "100") int rows,
+                                                       @RequestParam(defaultValue = "1") int tnx,
+                                                       @RequestParam(required = false) Long seed) {
+        return JobController.submit(jobService, "insert into " + schema + "." + table, (long) rows * tnx,
+                progress -> generateData(schema, table, rows, tnx, seed, progress));
+    }
+
+    private String generateData(String schema, String table, int rows, int tnx, Long seed,
+                                ProgressTracker progress) {
         TableMetadata metadata = introspector.getTableMetadata(schema, table);
         DataSource dataSource = jdbcTemplate.getDataSource();
+        // Shared by all transactions, so each one continues the chunk numbering of the previous one
+        RandomStreams streams = RandomStreams.of(seed, metadata.getTableName());
+        // Chosen once so the key allocation carries over between transactions instead of rescanning the table
+        PrimaryKeyStrategy keys = dummyDataService.primaryKeyStrategy(dataSource, metadata, schema, (long) rows * tnx);
 
         int tnx_i = 0;
         int totalRows = 0;
 
         while (tnx_i < tnx) {
             logger.debug("Inserting transaction number {}", tnx_i);
-            List<Map<String, Object>> dummyRows = dummyDataService.generateRows(dataSource, metadata, rows, schema);
-            
-            dummyDataService.insertRows(schema, table, dummyRows);
-            
-            totalRows += dummyRows.size();
+            dummyDataService.streamRows(metadata, rows, InsertOptions.DEFAULT_CHUNK_SIZE, keys, streams,
+                    chunk -> {
+                        progress.checkCancelled();
+                        dummyDataService.insertRows(schema, table, chunk);
+                        progress.addRows(chunk.size());
+                    });
+
+            totalRows += rows;
             tnx_i++;
         }
 
@@ -0,0 +1,96 @@
+/**
+ * REST controller for asynchronous generation jobs.
+ * Loads submitted with {@code async=true} on the insert endpoints run in the background; this controller
+ * reports their progress and cancels them.
+ *
+ * @author Hisham
+ */
+package com.hisham.dummydatagenerator.controller;
+
+import com.hisham.dummydatagenerator.dto.JobStatus;
+import com.hisham.dummydatagenerator.job.GenerationJob;
+import com.hisham.dummydatagenerator.job.JobService;
+import com.hisham.dummydatagenerator.job.JobTask;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST controller for job status and cancellation.
+ * Base path: /jobs
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    /**
+     * Lists known jobs, most recently submitted first. Finished jobs are kept for the configured retention period.
+     *
+     * @return Status of every known job
+     */
+    @GetMapping
+    public List<JobStatus> listJobs() {
+        return jobService.list().stream().map(JobStatus::of).toList();
+    }
+
+    /**
+     * Reports a job's state, rows written so far, write rate and estimated time remaining.
+     *
+     * @param id Job id returned on submission
+     * @return Current status of the job
+     */
+    @GetMapping("/{id}")
+    public JobStatus getJob(@PathVariable String id) {
+        return jobService.get(id)
+                .map(JobStatus::of)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Cancels a job. A running job stops after its current chunk and rolls back its open transaction.
+     *
+     * @param id Job id returned on submission
+     * @return Status of the job after the cancellation request
+     */
+    @DeleteMapping("/{id}")
+    public JobStatus cancelJob(@PathVariable String id) {
+        return jobService.cancel(id)
+                .map(JobStatus::of)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Submits a load as a job and builds the 202 response pointing at its status.
+     * Shared by the insert endpoints of the other controllers.
+     *
+     * @throws ResponseStatusException with 503 if too many jobs are already waiting
+     */
+    static ResponseEntity<JobStatus> submit(JobService jobService, String description, long totalRows,
+                                            JobTask task) {
+        GenerationJob job;
+        try {
+            job = jobService.submit(description, totalRows, task);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many jobs are waiting, try again later", e);
+        }
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/jobs/{id}").buildAndExpand(job.getId()).toUri())
+                .body(JobStatus.of(job));
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "No job " + id);
+    }
+}
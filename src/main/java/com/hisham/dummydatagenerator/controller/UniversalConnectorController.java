@@ -1,12 +1,26 @@
 package com.hisham.dummydatagenerator.controller;
 
+import com.hisham.dummydatagenerator.config.LoadThreads;
 import com.hisham.dummydatagenerator.connectors.DatabaseConnector;
-import com.hisham.dummydatagenerator.datasource.DatasourceProvider;
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import com.hisham.dummydatagenerator.connectors.RowWriter;
+import com.hisham.dummydatagenerator.datasource.DataSourceRegistry;
 import com.hisham.dummydatagenerator.dto.ConnectionRequest;
 import com.hisham.dummydatagenerator.dto.ConnectionRequestAll;
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.dto.JobStatus;
+import com.hisham.dummydatagenerator.dto.KafkaProducerConfig;
 import com.hisham.dummydatagenerator.generator.DummyDataService;
+import com.hisham.dummydatagenerator.generator.ForeignKeyBinding;
+import com.hisham.dummydatagenerator.generator.ForeignKeyPools;
+import com.hisham.dummydatagenerator.generator.PrimaryKeyStrategy;
+import com.hisham.dummydatagenerator.generator.RandomStreams;
+import com.hisham.dummydatagenerator.job.JobService;
+import com.hisham.dummydatagenerator.job.ProgressTracker;
 import com.hisham.dummydatagenerator.schema.TableMetadata;
 import com.hisham.dummydatagenerator.service.KafkaService;
+import com.hisham.dummydatagenerator.service.ParallelTableLoader;
+import com.hisham.dummydatagenerator.service.TableLoadResult;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +29,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,14 +51,24 @@ public class UniversalConnectorController {
 
     private static final Logger logger = LoggerFactory.getLogger(UniversalConnectorController.class);
 
-    private KafkaService kafkaService;
-
     @Autowired
     private DummyDataService dummyDataService;
 
     @Autowired
     private List<DatabaseConnector> connectors;
 
+    @Autowired
+    private DataSourceRegistry dataSourceRegistry;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private KafkaService kafkaService;
+
+    @Autowired
+    private LoadThreads loadThreads;
+
     /**
      * Introspects a database table and returns its metadata.
      *
@@ -52,8 +78,8 @@ public class UniversalConnectorController {
      */
     @PostMapping("/introspect")
     public TableMetadata introspect(@RequestBody ConnectionRequest req) {
-        // Create datasource from connection details
-        DataSource ds = DatasourceProvider.createDataSource(req.getJdbcUrl(), req.getUsername(), req.getPassword());
+        // Get the pooled datasource for the connection details
+        DataSource ds = dataSourceRegistry.getDataSource(req.getJdbcUrl(), req.getUsername(), req.getPassword());
 
         // Find appropriate connector for the database type
         DatabaseConnector connector = connectors.stream()
@@ -71,14 +97,37 @@ public class UniversalConnectorController {
      * @param row_count Number of rows to generate per transaction (default: 100)
      * @param tnx Number of transactions to perform (default: 1)
      * @param req ConnectionRequest containing database connection details and optional Kafka configuration
-     * @return String message indicating the number of rows and transactions inserted
+     * @return String message indicating the number of rows and transactions inserted, with the database write rate
      * @throws RuntimeException if no suitable connector is found for the specified database type
      */
     @PostMapping("/insert")
     public String insert(@RequestParam(defaultValue = "100") int row_count,
                         @RequestParam(defaultValue = "1") int tnx,
                         @RequestBody ConnectionRequest req) {
-        DataSource ds = DatasourceProvider.createDataSource(req.getJdbcUrl(), req.getUsername(), req.getPassword());
+        return insert(row_count, tnx, req, ProgressTracker.NONE);
+    }
+
+    /**
+     * Submits the same load as {@link #insert(int, int, ConnectionRequest)} as a background job.
+     * Selected with the {@code async=true} request parameter.
+     *
+     * @return 202 with the job status; poll /jobs/{id} for progress
+     */
+    @PostMapping(value = "/insert", params = "async=true")
+    public ResponseEntity<JobStatus> insertAsync(@RequestParam(defaultValue = "100") int row_count,
+                                                 @RequestParam(defaultValue = "1") int tnx,
+                                                 @RequestBody ConnectionRequest req) {
+        String target = req.getTopic() != null ? "topic " + req.getTopic() : req.getSchema() + "." + req.getTable();
+        return JobController.submit(jobService, "insert into " + target, (long) row_count * tnx,
+                progress -> insert(row_count, tnx, req, progress));
+    }
+
+    /**
+     * Runs the load of {@link #insert(int, int, ConnectionRequest)}, reporting every chunk to a progress tracker.
+     * Used by the background job endpoint and by the load benchmark.
+     */
+    public String insert(int row_count, int tnx, ConnectionRequest req, ProgressTracker progress) {
+        DataSource ds = dataSourceRegistry.getDataSource(req.getJdbcUrl(), req.getUsername(), req.getPassword());
         
         // Find appropriate connector for the database type
         DatabaseConnector connector = connectors.stream()
@@ -89,36 +138,62 @@ public class UniversalConnectorController {
         // Get table metadata and generate data for specified number of transactions
         TableMetadata metadata = connector.getTableMetadata(ds, req.getSchema(), req.getTable());
         int tnx_i = 0;
-        if (req.getTopic() != null) {
-            kafkaService = new KafkaService();
-        }
+        InsertStats stats = InsertStats.empty();
+        // Chosen once so the key allocation carries over between transactions instead of rescanning the table
+        PrimaryKeyStrategy keys = dummyDataService.primaryKeyStrategy(ds, metadata, req.getSchema(),
+                (long) row_count * tnx);
+        RandomStreams streams = RandomStreams.of(req.getInsertOptions().getSeed(), metadata.getTableName());
         while (tnx_i < tnx) {
-            List<Map<String, Object>> rows = dummyDataService.generateRows(ds, metadata, row_count, req.getSchema());
-            if (kafkaService != null) {
-                // Send to Kafka if topic is specified and Kafka service is available
-                kafkaService.sendTableData(req.getTopic(), req.getTable(), req.getSchema(), rows, req.getKafkaConfig());
-            } else {
-                // Insert into database if no Kafka topic specified or Kafka service not available
-                connector.insertRows(ds, req.getSchema(), req.getTable(), metadata, rows);
-            }
+            // Each transaction streams its rows into a fresh writer and commits when finished
+            stats = stats.plus(streamIntoSink(ds, connector, metadata, req.getSchema(), req.getTable(),
+                    row_count, keys, streams, ForeignKeyBinding.NONE, req.getTopic(), req.getKafkaConfig(),
+                    req.getInsertOptions(), progress));
             tnx_i++;
         }
-        return "Inserted " + tnx + " transaction(s) with " + row_count + " dummy rows into "
+        String result = "Inserted " + tnx + " transaction(s) with " + row_count + " dummy rows into "
                 + metadata.getTableName();
+        if (stats.getRows() > 0) {
+            result += String.format(" (%.0f rows/sec)", stats.getRowsPerSecond());
+        }
+        return result;
     }
 
     /**
      * Inserts dummy data into multiple tables in the database.
      * Can optionally send the generated data to a Kafka topic instead of inserting into the database.
      * Supports table inclusion/exclusion lists and handles errors for individual tables gracefully.
+     * Tables are loaded after the tables their foreign keys reference, and their foreign key columns take keys
+     * generated for those parents. Independent tables are loaded concurrently, up to the request's parallelism
+     * and the target database's connection budget.
      *
      * @param req ConnectionRequestAll containing database connection details, table lists, and optional Kafka configuration
-     * @return ResponseEntity containing a map of results with the number of rows inserted per table
+     * @return ResponseEntity containing a map of results with the number of rows inserted, the write rate and
+     *         the time taken per table
      * @throws RuntimeException if no suitable connector is found for the specified database type
      */
     @PostMapping("/insert-all")
     public ResponseEntity<Map<String, Object>> insertIntoAllTables(@RequestBody ConnectionRequestAll req) {
-        DataSource ds = DatasourceProvider.createDataSource(
+        return ResponseEntity.ok(insertIntoAllTables(req, ProgressTracker.NONE));
+    }
+
+    /**
+     * Submits the same load as {@link #insertIntoAllTables(ConnectionRequestAll)} as a background job.
+     * Selected with the {@code async=true} request parameter.
+     *
+     * @return 202 with the job status; poll /jobs/{id} for progress
+     */
+    @PostMapping(value = "/insert-all", params = "async=true")
+    public ResponseEntity<JobStatus> insertIntoAllTablesAsync(@RequestBody ConnectionRequestAll req) {
+        return JobController.submit(jobService, "insert into all tables of " + req.getSchema(), 0,
+                progress -> insertIntoAllTables(req, progress));
+    }
+
+    /**
+     * Runs the load of {@link #insertIntoAllTables(ConnectionRequestAll)}, reporting every chunk to a progress
+     * tracker. Used by the background job endpoint and by the load benchmark.
+     */
+    public Map<String, Object> insertIntoAllTables(ConnectionRequestAll req, ProgressTracker progress) {
+        DataSource ds = dataSourceRegistry.getDataSource(
                 req.getJdbcUrl(), req.getUsername(), req.getPassword());
         
         // Find appropriate connector for the database type
@@ -135,47 +210,105 @@ public class UniversalConnectorController {
             allTables = connector.getAllTableNames(ds, req.getSchema());
         }
         List<String> toIgnore = req.getIgnoreTables() != null ? req.getIgnoreTables() : List.of();
-        Map<String, Integer> resultMap = new LinkedHashMap<>();
-
-        if (req.getTopic() != null) {
-            kafkaService = new KafkaService();
-        }
-
-        // Process each table
+        List<String> tables = new ArrayList<>();
         for (String table : allTables) {
             if (toIgnore.contains(table)) {
                 logger.debug("[SKIP] Ignoring table: " + table);
-                continue;
+            } else {
+                tables.add(table);
             }
+        }
+        progress.setTotalRows((long) req.getRowsPerTable() * tables.size());
+
 
+        // Introspect every table first, so parents can be ordered before the children that reference them
+        long start = System.nanoTime();
+        Map<String, TableMetadata> metadataByTable = new LinkedHashMap<>();
+        Map<String, TableLoadResult> introspectionFailures = new LinkedHashMap<>();
+        for (String table : tables) {
             try {
-                // Generate and insert data for each table
-                TableMetadata metadata = connector.getTableMetadata(ds, req.getSchema(), table);
-                List<Map<String, Object>> rows = dummyDataService.generateRows(ds, metadata, req.getRowsPerTable(),
-                        req.getSchema());
-                if (kafkaService != null) {
-                    // Send to Kafka if topic is specified and Kafka service is available
-                    kafkaService.sendTableData(req.getTopic(), req.getSchema(), table, rows, req.getKafkaConfig());
-                } else {
-                    // Insert into database if no Kafka topic specified or Kafka service not available
-                    connector.insertRows(ds, req.getSchema(), table, metadata, rows);
-                }
-                resultMap.put(table, req.getRowsPerTable());
-            } catch (Exception e) {
-                if (req.getTopic() != null) {
-                    logger.error("[ERROR] Failed to insert into topic: " + req.getDbType(), e);
-                }
-                else {
-                    logger.error("[ERROR] Failed to insert into table: " + table, e);
-                }
-                resultMap.put(table, -1); // Mark as failed in results
+                metadataByTable.put(table, connector.getTableMetadata(ds, req.getSchema(), table));
+            } catch (RuntimeException e) {
+                logger.error("[ERROR] Failed to introspect table: " + table, e);
+                introspectionFailures.put(table, new TableLoadResult(table, null, 0, e.getMessage()));
             }
         }
+        ForeignKeyPools foreignKeys = new ForeignKeyPools(req.getSchema(), metadataByTable.values());
 
-        return ResponseEntity.ok(Map.of(
+        // Load tables in foreign key order, independent ones concurrently within the connection budget
+        int parallelism = Math.min(req.getParallelism(), dataSourceRegistry.getMaxConcurrentLoads());
+        ParallelTableLoader loader = new ParallelTableLoader(parallelism, dataSourceRegistry.connectionBudget(ds),
+                loadThreads);
+        List<TableLoadResult> loaded = loader.loadAll(new ArrayList<>(metadataByTable.keySet()),
+                foreignKeys.getParents(), table -> {
+            // Generate and insert data for each table
+            TableMetadata metadata = metadataByTable.get(table);
+            PrimaryKeyStrategy keys = dummyDataService.primaryKeyStrategy(ds, metadata, req.getSchema(),
+                    req.getRowsPerTable());
+            RandomStreams streams = RandomStreams.of(req.getInsertOptions().getSeed(), table);
+            return streamIntoSink(ds, connector, metadata, req.getSchema(), table,
+                    req.getRowsPerTable(), keys, streams, foreignKeys.bind(metadata), req.getTopic(),
+                    req.getKafkaConfig(), req.getInsertOptions(), progress);
+        });
+        Map<String, TableLoadResult> loadedByTable = new LinkedHashMap<>(introspectionFailures);
+        for (TableLoadResult result : loaded) {
+            loadedByTable.put(result.table(), result);
+        }
+        List<TableLoadResult> results = tables.stream().map(loadedByTable::get).toList();
+
+        Map<String, Integer> resultMap = new LinkedHashMap<>();
+        Map<String, Long> rateMap = new LinkedHashMap<>();
+        Map<String, Long> timeMap = new LinkedHashMap<>();
+        for (TableLoadResult result : results) {
+            if (result.isSuccess()) {
+                rateMap.put(result.table(), Math.round(result.stats().getRowsPerSecond()));
+                resultMap.put(result.table(), req.getRowsPerTable());
+            } else {
+                resultMap.put(result.table(), -1); // Mark as failed in results
+            }
+            timeMap.put(result.table(), result.elapsedMillis());
+        }
+
+        return Map.of(
                 "message", "Insert complete",
-                "rowsInserted", resultMap
-        ));
+                "rowsInserted", resultMap,
+                "rowsPerSecond", rateMap,
+                "elapsedMillis", timeMap,
+                "totalElapsedMillis", (System.nanoTime() - start) / 1_000_000,
+                "parallelism", parallelism
+        );
     }
-}
 
+    /**
+     * Generates rows for one table and streams them, chunk by chunk, into Kafka when a topic is given
+     * or into the database otherwise. Rows are generated on the generator threads while earlier chunks are
+     * written. Memory use is bounded by the chunk size, generator threads and pipeline depth, not the row count.
+     * Progress is reported after every chunk, and a cancelled load stops before its next chunk.
+     * Foreign key columns are filled from the keys of the parent tables of the same load, and the keys
+     * referenced by child tables are recorded for them once written.
+     *
+     * @return Statistics for the rows written, committed (or flushed to Kafka) when this returns
+     */
+    private InsertStats streamIntoSink(DataSource ds, DatabaseConnector connector, TableMetadata metadata,
+                                       String schema, String table, long rowCount, PrimaryKeyStrategy keys,
+                                       RandomStreams streams, ForeignKeyBinding foreignKeys, String topic, KafkaProducerConfig kafkaConfig,
+                                       InsertOptions options, ProgressTracker progress) {
+        try (RowWriter writer = topic != null
+                ? kafkaService.openWriter(topic, table, schema, metadata, kafkaConfig)
+                : connector.openWriter(ds, schema, table, metadata, options)) {
+            dummyDataService.streamRows(metadata, rowCount, options.getChunkSize(), keys, streams,
+                    options.getGeneratorThreads(), options.getPipelineDepth(), options.getChunkOrder(), batch -> {
+                        progress.checkCancelled();
+                        foreignKeys.fill(batch);
+                        writer.write(batch);
+                        foreignKeys.capture(batch);
+                        progress.addRows(batch.size());
+                    });
+            InsertStats stats = writer.finish();
+            logger.info("Loaded {}.{}: {}", schema, table, stats);
+            return stats;
+        } catch (SQLException e) {
+            throw new RuntimeException("Insert into " + schema + "." + table + " failed", e);
+        }
+    }
+}
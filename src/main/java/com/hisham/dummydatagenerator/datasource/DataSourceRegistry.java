@@ -0,0 +1,215 @@
+package com.hisham.dummydatagenerator.datasource;
+
+import com.hisham.dummydatagenerator.config.DataSourcePoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Registry of pooled DataSources for the target databases used by the /universal endpoints.
+ * Pools are keyed by (jdbcUrl, username) and reused across requests, so introspection, primary key scans
+ * and inserts share warm connections instead of opening a new physical connection each time.
+ *
+ * The registry holds at most {@link DataSourcePoolProperties#getMaxPools()} pools, closing the least recently
+ * used one beyond that, and closes pools that have been idle longer than the pool idle timeout. A pool is only
+ * closed while none of its connections is checked out, so a running load never loses its connections; when every
+ * pool is in use the registry holds more pools until one becomes idle.
+ */
+@Component
+public class DataSourceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRegistry.class);
+
+    private final DataSourcePoolProperties properties;
+    private final Map<PoolKey, PoolEntry> pools = new ConcurrentHashMap<>();
+    /** Replaced pools that still had connections checked out, closed once they are returned */
+    private final Queue<PoolEntry> retired = new ConcurrentLinkedQueue<>();
+
+    public DataSourceRegistry(DataSourcePoolProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Identity of a pool: one pool per database URL and login.
+     */
+    private record PoolKey(String jdbcUrl, String username) {
+    }
+
+    /**
+     * A pool together with the password it was opened with, when it was last handed out and its load budget.
+     */
+    private static class PoolEntry {
+        private final HikariDataSource dataSource;
+        private final String password;
+        private final Semaphore connectionBudget;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        PoolEntry(HikariDataSource dataSource, String password, int maxConcurrentLoads) {
+            this.dataSource = dataSource;
+            this.password = password;
+            this.connectionBudget = new Semaphore(maxConcurrentLoads, true);
+        }
+    }
+
+    /**
+     * Returns the pooled DataSource for the given connection details, creating it on first use.
+     * A request with a different password for a known (jdbcUrl, username) opens a new pool, so a cached pool
+     * is never handed out to a caller that could not have opened it; the old pool is replaced only when the
+     * new one connects successfully. Its idle connections are closed right away and the pool itself once the
+     * connections still in use are returned.
+     *
+     * @param jdbcUrl The JDBC URL for the database connection
+     * @param username The database username
+     * @param password The database password
+     * @return A pooled DataSource shared by all callers with the same connection details
+     */
+    public DataSource getDataSource(String jdbcUrl, String username, String password) {
+        PoolKey key = new PoolKey(jdbcUrl, username);
+        PoolEntry[] replaced = new PoolEntry[1];
+
+        PoolEntry entry = pools.compute(key, (k, existing) -> {
+            if (existing != null && !existing.dataSource.isClosed()
+                    && Objects.equals(existing.password, password)) {
+                return existing;
+            }
+            replaced[0] = existing;
+            return new PoolEntry(DatasourceProvider.createDataSource(jdbcUrl, username, password, properties),
+                    password, properties.getMaxConcurrentLoads());
+        });
+        entry.lastAccessNanos = System.nanoTime();
+
+        if (replaced[0] != null) {
+            logger.info("Replacing connection pool for {} ({})", jdbcUrl, username);
+            retire(replaced[0]);
+        }
+        closeRetiredPools();
+        enforceMaxPools(entry);
+        return entry.dataSource;
+    }
+
+    /**
+     * Returns the load budget of a pooled DataSource: one permit per table being loaded into the database.
+     * Shared by every request against the same pool, so parallel loads together stay within
+     * {@link DataSourcePoolProperties#getMaxConcurrentLoads()}.
+     *
+     * @param dataSource A DataSource returned by {@link #getDataSource}
+     * @return The pool's budget, or a fresh one if the pool has been closed in the meantime
+     */
+    public Semaphore connectionBudget(DataSource dataSource) {
+        for (PoolEntry entry : pools.values()) {
+            if (entry.dataSource == dataSource) {
+                return entry.connectionBudget;
+            }
+        }
+        return new Semaphore(properties.getMaxConcurrentLoads(), true);
+    }
+
+    /**
+     * Maximum number of tables loaded at once into one target database.
+     */
+    public int getMaxConcurrentLoads() {
+        return properties.getMaxConcurrentLoads();
+    }
+
+    /**
+     * Number of pools currently open.
+     */
+    public int size() {
+        return pools.size();
+    }
+
+    /**
+     * Closes pools that have not been used within the pool idle timeout and have no connection checked out,
+     * and replaced pools whose connections have all been returned.
+     */
+    @Scheduled(fixedDelayString = "${dummy.generator.datasource.eviction-interval:60000}")
+    public void evictIdlePools() {
+        long cutoff = System.nanoTime() - properties.getPoolIdleTimeout().toNanos();
+        pools.forEach((key, entry) -> {
+            if (entry.lastAccessNanos - cutoff < 0 && activeConnections(entry) == 0) {
+                close(key, entry, "idle");
+            }
+        });
+        closeRetiredPools();
+    }
+
+    /**
+     * Closes least recently used idle pools beyond the maximum, never the pool being handed out.
+     */
+    private void enforceMaxPools(PoolEntry current) {
+        while (pools.size() > properties.getMaxPools()) {
+            Optional<Map.Entry<PoolKey, PoolEntry>> oldest = pools.entrySet().stream()
+                    .filter(e -> e.getValue() != current && activeConnections(e.getValue()) == 0)
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccessNanos));
+            if (oldest.isEmpty() || !close(oldest.get().getKey(), oldest.get().getValue(), "over capacity")) {
+                return;
+            }
+        }
+    }
+
+    private boolean close(PoolKey key, PoolEntry entry, String reason) {
+        if (pools.remove(key, entry)) {
+            logger.info("Closing connection pool for {} ({}): {}", key.jdbcUrl(), key.username(), reason);
+            entry.dataSource.close();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Closes the idle connections of a replaced pool, and the pool too unless connections are still in use.
+     */
+    private void retire(PoolEntry entry) {
+        HikariPoolMXBean pool = entry.dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            pool.softEvictConnections();
+        }
+        if (activeConnections(entry) == 0) {
+            entry.dataSource.close();
+        } else {
+            retired.add(entry);
+        }
+    }
+
+    private void closeRetiredPools() {
+        retired.removeIf(entry -> {
+            if (activeConnections(entry) > 0) {
+                return false;
+            }
+            logger.info("Closing replaced connection pool {}", entry.dataSource.getPoolName());
+            entry.dataSource.close();
+            return true;
+        });
+    }
+
+    private static int activeConnections(PoolEntry entry) {
+        HikariPoolMXBean pool = entry.dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    /**
+     * Closes every pool on application shutdown, including pools with connections in use.
+     */
+    @PreDestroy
+    public void closeAll() {
+        pools.forEach((key, entry) -> close(key, entry, "shutdown"));
+        PoolEntry entry;
+        while ((entry = retired.poll()) != null) {
+            entry.dataSource.close();
+        }
+    }
+}
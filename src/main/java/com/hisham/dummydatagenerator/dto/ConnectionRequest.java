@@ -9,6 +9,7 @@ public class ConnectionRequest {
     private String table;
     private String topic;
     private KafkaProducerConfig kafkaConfig;
+    private InsertOptions insertOptions = new InsertOptions();
 
     // Getters and Setters
     public String getJdbcUrl() {
@@ -74,5 +75,12 @@ public class ConnectionRequest {
     public void setKafkaConfig(KafkaProducerConfig kafkaConfig) {
         this.kafkaConfig = kafkaConfig;
     }
-}
 
+    public InsertOptions getInsertOptions() {
+        return insertOptions;
+    }
+
+    public void setInsertOptions(InsertOptions insertOptions) {
+        this.insertOptions = insertOptions != null ? insertOptions : new InsertOptions();
+    }
+}
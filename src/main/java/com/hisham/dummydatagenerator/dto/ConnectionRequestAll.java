@@ -3,6 +3,8 @@ package com.hisham.dummydatagenerator.dto;
 import java.util.List;
 
 public class ConnectionRequestAll {
+    public static final int DEFAULT_PARALLELISM = 4;
+
     private String dbType;
     private String jdbcUrl;
     private String username;
@@ -11,6 +13,8 @@ public class ConnectionRequestAll {
     private int rowsPerTable;
     private String topic;
     private KafkaProducerConfig kafkaConfig;
+    private InsertOptions insertOptions = new InsertOptions();
+    private int parallelism = DEFAULT_PARALLELISM;
     private List<String> ignoreTables;
     private List<String> includeTables;
 
@@ -54,6 +58,14 @@ public class ConnectionRequestAll {
         return includeTables;
     }
 
+    public void setIgnoreTables(List<String> ignoreTables) {
+        this.ignoreTables = ignoreTables;
+    }
+
+    public void setIncludeTables(List<String> includeTables) {
+        this.includeTables = includeTables;
+    }
+
     public void setUsername(String username) {
         this.username = username;
     }
@@ -85,5 +97,26 @@ public class ConnectionRequestAll {
     public void setKafkaConfig(KafkaProducerConfig kafkaConfig) {
         this.kafkaConfig = kafkaConfig;
     }
-}
 
+    public InsertOptions getInsertOptions() {
+        return insertOptions;
+    }
+
+    public void setInsertOptions(InsertOptions insertOptions) {
+        this.insertOptions = insertOptions != null ? insertOptions : new InsertOptions();
+    }
+
+    /**
+     * Number of tables loaded at once. Capped by the target database's connection budget.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,150 @@
+package com.hisham.dummydatagenerator.dto;
+
+import com.hisham.dummydatagenerator.generator.ChunkOrder;
+
+/**
+ * Tuning options for writing generated rows into a target table.
+ * Sent as the optional {@code insertOptions} object of a connection request.
+ */
+public class InsertOptions {
+
+    /** Default number of rows sent to the database per JDBC batch */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    /** Default number of rows generated and held in memory before they are handed to the writer */
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+    /** Default number of generated chunks that may wait for the writer */
+    public static final int DEFAULT_PIPELINE_DEPTH = 2;
+
+    /**
+     * Controls when the write engine commits.
+     * BATCH commits after every executed batch, TRANSACTION commits once per insert call (one per tnx).
+     */
+    public enum CommitMode {
+        BATCH,
+        TRANSACTION
+    }
+
+    /**
+     * Selects the write path used for database inserts.
+     * INSERT uses batched prepared statements and works everywhere.
+     * COPY streams rows through PostgreSQL's binary COPY protocol and BULK_COPY through SQL Server's
+     * bulk copy API; both fall back to INSERT on other databases.
+     */
+    public enum WriteMode {
+        INSERT,
+        COPY,
+        BULK_COPY
+    }
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private CommitMode commitMode = CommitMode.TRANSACTION;
+    private WriteMode writeMode = WriteMode.INSERT;
+    /** Take a table lock during BULK_COPY loads, allowing minimally logged inserts */
+    private boolean tableLock;
+    /** Seed of the generated values, null for random values */
+    private Long seed;
+    /** Number of chunks of a table generated at once */
+    private int generatorThreads = 1;
+    private ChunkOrder chunkOrder = ChunkOrder.ORDERED;
+    private int pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public CommitMode getCommitMode() {
+        return commitMode;
+    }
+
+    public void setCommitMode(CommitMode commitMode) {
+        this.commitMode = commitMode != null ? commitMode : CommitMode.TRANSACTION;
+    }
+
+    public WriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    public void setWriteMode(WriteMode writeMode) {
+        this.writeMode = writeMode != null ? writeMode : WriteMode.INSERT;
+    }
+
+    public boolean isTableLock() {
+        return tableLock;
+    }
+
+    public void setTableLock(boolean tableLock) {
+        this.tableLock = tableLock;
+    }
+
+    /**
+     * Seed that makes the load reproducible: the same seed, row counts and chunk size generate the same rows
+     * into the same starting tables. Null generates different rows every time.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Number of chunks of a table generated at the same time, each on its own core, while the chunks already
+     * generated are written.
+     */
+    public int getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    public void setGeneratorThreads(int generatorThreads) {
+        if (generatorThreads <= 0) {
+            throw new IllegalArgumentException("generatorThreads must be positive");
+        }
+        this.generatorThreads = generatorThreads;
+    }
+
+    /**
+     * Whether chunks generated on several threads are written in row order or as soon as they are ready.
+     */
+    public ChunkOrder getChunkOrder() {
+        return chunkOrder;
+    }
+
+    public void setChunkOrder(ChunkOrder chunkOrder) {
+        this.chunkOrder = chunkOrder != null ? chunkOrder : ChunkOrder.ORDERED;
+    }
+
+    /**
+     * Number of generated chunks that may wait for the writer. Generation runs ahead of the writer by this many
+     * chunks and pauses when they are all waiting; 0 generates and writes in turn on one thread.
+     */
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    public void setPipelineDepth(int pipelineDepth) {
+        if (pipelineDepth < 0) {
+            throw new IllegalArgumentException("pipelineDepth must not be negative");
+        }
+        this.pipelineDepth = pipelineDepth;
+    }
+}
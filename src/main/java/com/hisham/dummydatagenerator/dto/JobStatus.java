@@ -0,0 +1,99 @@
+package com.hisham.dummydatagenerator.dto;
+
+import com.hisham.dummydatagenerator.job.GenerationJob;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a generation job as reported by the /jobs endpoints.
+ */
+public class JobStatus {
+    private String id;
+    private String description;
+    private GenerationJob.State state;
+    private long rowsDone;
+    private long totalRows;
+    private Double percentComplete;
+    private long rowsPerSecond;
+    private Long etaSeconds;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Object result;
+    private String error;
+
+    public JobStatus() {
+    }
+
+    public static JobStatus of(GenerationJob job) {
+        JobStatus status = new JobStatus();
+        status.id = job.getId();
+        status.description = job.getDescription();
+        status.state = job.getState();
+        status.rowsDone = job.getRowsDone();
+        status.totalRows = job.getTotalRows();
+        if (status.totalRows > 0) {
+            status.percentComplete = Math.min(100.0, Math.round(status.rowsDone * 1000.0 / status.totalRows) / 10.0);
+        }
+        status.rowsPerSecond = Math.round(job.getRowsPerSecond());
+        status.etaSeconds = job.getEtaSeconds();
+        status.submittedAt = job.getSubmittedAt();
+        status.startedAt = job.getStartedAt();
+        status.finishedAt = job.getFinishedAt();
+        status.result = job.getResult();
+        status.error = job.getError();
+        return status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public GenerationJob.State getState() {
+        return state;
+    }
+
+    public long getRowsDone() {
+        return rowsDone;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public Double getPercentComplete() {
+        return percentComplete;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -4,9 +4,26 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class KafkaProducerConfig {
+    public static final int DEFAULT_MAX_IN_FLIGHT_RECORDS = 10_000;
+    /** Default number of rows packed into one COLUMNAR record */
+    public static final int DEFAULT_ROWS_PER_RECORD = 1000;
+
+    /**
+     * Encoding of the record values.
+     * JSON sends one {@link TableDataMessage} per row. COLUMNAR packs many rows into one binary record,
+     * with the column names and types written once per record; see ColumnarMessageCodec for the layout.
+     */
+    public enum MessageFormat {
+        JSON,
+        COLUMNAR
+    }
+
     private String bootstrapServers;
     private String keySerializer;
     private String valueSerializer;
+    private int maxInFlightRecords = DEFAULT_MAX_IN_FLIGHT_RECORDS;
+    private MessageFormat messageFormat = MessageFormat.JSON;
+    private int rowsPerRecord = DEFAULT_ROWS_PER_RECORD;
     private Map<String, String> additionalProperties;
 
     public KafkaProducerConfig() {
@@ -37,6 +54,43 @@ public class KafkaProducerConfig {
         this.valueSerializer = valueSerializer;
     }
 
+    /**
+     * Records a load may have sent without an acknowledgement from the broker.
+     * Generation waits once the window is full, so a slow broker throttles it instead of filling the producer buffer.
+     */
+    public int getMaxInFlightRecords() {
+        return maxInFlightRecords;
+    }
+
+    public void setMaxInFlightRecords(int maxInFlightRecords) {
+        if (maxInFlightRecords <= 0) {
+            throw new IllegalArgumentException("maxInFlightRecords must be positive");
+        }
+        this.maxInFlightRecords = maxInFlightRecords;
+    }
+
+    public MessageFormat getMessageFormat() {
+        return messageFormat;
+    }
+
+    public void setMessageFormat(MessageFormat messageFormat) {
+        this.messageFormat = messageFormat != null ? messageFormat : MessageFormat.JSON;
+    }
+
+    /**
+     * Rows packed into one record with the COLUMNAR format. JSON always sends one row per record.
+     */
+    public int getRowsPerRecord() {
+        return rowsPerRecord;
+    }
+
+    public void setRowsPerRecord(int rowsPerRecord) {
+        if (rowsPerRecord <= 0) {
+            throw new IllegalArgumentException("rowsPerRecord must be positive");
+        }
+        this.rowsPerRecord = rowsPerRecord;
+    }
+
     public Map<String, String> getAdditionalProperties() {
         return additionalProperties;
     }
@@ -1,29 +1,64 @@
 package com.hisham.dummydatagenerator.generator;
 
 import java.math.BigInteger;
-import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+public class BigIntGenerator implements LongColumnGenerator {
+
+    private final long min;
+    private final long max;
+
+    /**
+     * Values across the whole int8 range, from -Long.MAX_VALUE inclusive to Long.MAX_VALUE exclusive.
+     */
+    public BigIntGenerator() {
+        this(-Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param min Smallest value, inclusive
+     * @param max Largest value, exclusive
+     */
+    public BigIntGenerator(long min, long max) {
+        if (min >= max) {
+            throw new IllegalArgumentException("min must be less than max");
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public long generateLong(RandomGenerator random) {
+        return random.nextLong(min, max);
+    }
 
-public class BigIntGenerator implements ColumnDataGenerator {
     @Override
-    public Object generate() {
-        BigInteger min = new BigInteger("-9223372036854775807");
-        BigInteger max = new BigInteger("9223372036854775807");
-        return generateRandomBigInteger(min,max);
+    public void fill(long[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = random.nextLong(min, max);
+        }
     }
 
+    /**
+     * Random integer of arbitrary precision, for ranges that do not fit in a long.
+     *
+     * @param min Smallest value, inclusive
+     * @param max Largest value, exclusive
+     */
     public static BigInteger generateRandomBigInteger(BigInteger min, BigInteger max) {
         if (min.compareTo(max) >= 0) {
             throw new IllegalArgumentException("min must be less than max");
         }
         BigInteger range = max.subtract(min);
         int numBits = range.bitLength();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         BigInteger randomInRange;
 
         do {
-            randomInRange = new BigInteger(numBits, new SecureRandom());
+            randomInRange = new BigInteger(numBits, random);
         } while (randomInRange.compareTo(range) >= 0);
 
         return randomInRange.add(min);
     }
 }
-
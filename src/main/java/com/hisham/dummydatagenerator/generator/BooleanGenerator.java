@@ -1,12 +1,11 @@
 package com.hisham.dummydatagenerator.generator;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class BooleanGenerator implements ColumnDataGenerator {
     @Override
-    public Object generate(){
-        Random random = new Random();
-        boolean randomBoolean = random.nextBoolean();
-        return randomBoolean;
+    public Object generate(RandomGenerator random) {
+        // Boolean.valueOf returns cached instances, so this does not allocate
+        return random.nextBoolean();
     }
 }
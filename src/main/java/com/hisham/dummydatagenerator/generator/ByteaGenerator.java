@@ -1,12 +1,12 @@
 package com.hisham.dummydatagenerator.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class ByteaGenerator implements ColumnDataGenerator {
     @Override
-    public Object generate() {
+    public Object generate(RandomGenerator random) {
         byte[] data = new byte[16];
-        ThreadLocalRandom.current().nextBytes(data);
+        random.nextBytes(data);
         return data;
     }
 }
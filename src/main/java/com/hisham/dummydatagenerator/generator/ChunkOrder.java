@@ -0,0 +1,12 @@
+package com.hisham.dummydatagenerator.generator;
+
+/**
+ * Order in which chunks generated on several threads are handed to the sink.
+ * Either way the sink is called by one thread at a time.
+ */
+public enum ChunkOrder {
+    /** In row order, as a single-threaded load would; a slow chunk holds back the chunks after it */
+    ORDERED,
+    /** Each chunk as soon as it is ready, which keeps every generator thread busy */
+    UNORDERED
+}
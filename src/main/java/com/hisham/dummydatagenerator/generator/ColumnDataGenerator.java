@@ -3,6 +3,12 @@
  * Implementations of this interface are responsible for creating appropriate
  * random or sequential values for specific SQL data types.
  *
+ * Generators of integer columns also implement {@link IntColumnGenerator} or {@link LongColumnGenerator},
+ * which produce unboxed values for sinks that can bind primitives directly.
+ *
+ * Generators draw from the random source they are given, so a seeded source (see {@link RandomStreams}) makes
+ * their output reproducible; the overloads without one use {@link ThreadLocalRandom}.
+ *
  * This interface is used by:
  * - DataGeneratorFactory to create type-specific generators
  * - DummyDataService to generate values for table columns
@@ -11,6 +17,9 @@
  */
 package com.hisham.dummydatagenerator.generator;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * Interface for generating column data.
  * Defines the contract for all data generators in the system.
@@ -21,7 +30,38 @@ public interface ColumnDataGenerator {
      * The generated value should be compatible with the SQL data type
      * and respect any constraints (e.g., size limits, precision).
      *
+     * @param random Source of randomness
+     * @return Generated value of appropriate type
+     */
+    Object generate(RandomGenerator random);
+
+    /**
+     * Generates a value from {@link ThreadLocalRandom}.
+     *
      * @return Generated value of appropriate type
      */
-    Object generate();
+    default Object generate() {
+        return generate(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates values into a range of an array, e.g. one column of a row batch.
+     *
+     * @param out Destination array
+     * @param from First index to fill, inclusive
+     * @param to Last index to fill, exclusive
+     * @param random Source of randomness
+     */
+    default void fill(Object[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = generate(random);
+        }
+    }
+
+    /**
+     * Generates values into a range of an array from {@link ThreadLocalRandom}.
+     */
+    default void fill(Object[] out, int from, int to) {
+        fill(out, from, to, ThreadLocalRandom.current());
+    }
 }
@@ -0,0 +1,67 @@
+package com.hisham.dummydatagenerator.generator;
+
+/**
+ * Thread-safe set of primitive longs, split into {@link LongHashSet} segments that are locked separately.
+ * Threads adding keys only contend when their keys land in the same segment, so chunks generated in parallel
+ * can check their keys against the same set.
+ */
+public final class ConcurrentLongHashSet {
+
+    /** Number of segments, a power of two so a segment is picked from the top bits of the key's hash */
+    private static final int SEGMENTS = 64;
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final LongHashSet[] segments = new LongHashSet[SEGMENTS];
+
+    public ConcurrentLongHashSet() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize Number of keys the set should hold without resizing
+     */
+    public ConcurrentLongHashSet(int expectedSize) {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new LongHashSet(expectedSize / SEGMENTS);
+        }
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @return true if the key was not already present
+     */
+    public boolean add(long key) {
+        LongHashSet segment = segment(key);
+        synchronized (segment) {
+            return segment.add(key);
+        }
+    }
+
+    public boolean contains(long key) {
+        LongHashSet segment = segment(key);
+        synchronized (segment) {
+            return segment.contains(key);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (LongHashSet segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private LongHashSet segment(long key) {
+        // Fibonacci hashing; the segments' own slots come from the low bits of a different hash
+        return segments[(int) ((key * 0x9E3779B97F4A7C15L) >>> SEGMENT_SHIFT)];
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentLongHashSet[size=" + size() + "]";
+    }
+}
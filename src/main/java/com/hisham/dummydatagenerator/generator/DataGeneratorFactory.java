@@ -30,7 +30,7 @@ public class DataGeneratorFactory {
      * Supported data type mappings:
      * - int2 -> SmallIntGenerator
      * - int4 -> IntegerGenerator
-     * - int8 -> BigIntGenerator
+     * - int8 -> BigIntGenerator (primitive long)
      * - numeric -> BigDecimalGenerator
      * - money -> MoneyGenerator
      * - char -> FixedLengthStringGenerator
@@ -60,24 +60,26 @@ public class DataGeneratorFactory {
 
         String type = column.getDataType();
         if (type == null) {
-            return () -> null;
+            return random -> null;
         }
 
         return switch (type.toLowerCase()) {
-            case "varchar" -> new VarcharGenerator(column.getColumnSize() != null ? column.getColumnSize() : 50);
+            // Standard SQL spellings, as reported by e.g. H2, sit next to the PostgreSQL names
+            case "varchar", "character varying" ->
+                    new VarcharGenerator(column.getColumnSize() != null ? column.getColumnSize() : 50);
             case "text" -> new VarcharGenerator(textSize);
             case "numeric", "decimal" -> new NumericGenerator(column.getColumnSize(), column.getDecimalDigits());
-            case "int2" -> new IntegerGenerator(-smallInt, smallInt);
-            case "int4", "int"  -> new IntegerGenerator(-normInt, normInt);
+            case "int2", "smallint" -> new IntegerGenerator(-smallInt, smallInt);
+            case "int4", "int", "integer" -> new IntegerGenerator(-normInt, normInt);
             case "money" -> new MoneyGenerator();
-            case "int8" -> new BigIntGenerator();
-            case "timestamptz" -> new TimestampGenerator();
+            case "int8", "bigint" -> new BigIntGenerator();
+            case "timestamptz", "timestamp with time zone" -> new TimestampGenerator();
             case "timestamp" -> new TimestampGenerator();
-            case "bool" -> new BooleanGenerator();
+            case "bool", "boolean" -> new BooleanGenerator();
             case "bytea" -> new ByteaGenerator();
             case "date" -> new DateGenerator();
             // Add other mappings here
-            default -> () -> null;
+            default -> random -> null;
         };
     }
 }
@@ -1,14 +1,34 @@
 package com.hisham.dummydatagenerator.generator;
 
 import java.time.LocalDate;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * Dates drawn from an {@link EpochRange} of days since the epoch.
+ */
 public class DateGenerator implements ColumnDataGenerator {
+
+    private static final LocalDate DEFAULT_FROM = LocalDate.of(2000, 1, 1);
+    private static final LocalDate DEFAULT_TO = LocalDate.of(2022, 12, 31);
+
+    private final EpochRange range;
+
+    /**
+     * Dates spread uniformly from 2000-01-01 up to 2022-12-31, exclusive.
+     */
+    public DateGenerator() {
+        this(EpochRange.uniform(DEFAULT_FROM.toEpochDay(), DEFAULT_TO.toEpochDay()));
+    }
+
+    /**
+     * @param range Range of days since the epoch
+     */
+    public DateGenerator(EpochRange range) {
+        this.range = range;
+    }
+
     @Override
-    public Object generate() {
-        long minDay = LocalDate.of(2000, 1, 1).toEpochDay();
-        long maxDay = LocalDate.of(2022, 12, 31).toEpochDay();
-        long randomDay = ThreadLocalRandom.current().nextLong(minDay, maxDay);
-        return LocalDate.ofEpochDay(randomDay);
+    public Object generate(RandomGenerator random) {
+        return LocalDate.ofEpochDay(range.next(random));
     }
 }
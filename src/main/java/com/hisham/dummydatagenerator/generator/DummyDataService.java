@@ -3,7 +3,8 @@
  * Provides functionality for creating synthetic data based on table metadata and inserting it into the database.
  *
  * This service is responsible for:
- * - Generating rows of dummy data based on column types
+ * - Generating rows of dummy data based on column types, through cached per-table row plans
+ * - Spreading the generation of large loads over several cores
  * - Handling primary key uniqueness
  * - Inserting generated data into database tables
  * - Managing database connections and transactions
@@ -12,12 +13,15 @@
  */
 package com.hisham.dummydatagenerator.generator;
 
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
 import com.hisham.dummydatagenerator.schema.TableMetadata;
-import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
@@ -26,6 +30,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for generating and managing dummy data.
@@ -36,86 +45,318 @@ public class DummyDataService {
 
     private static final Logger logger = LoggerFactory.getLogger(DummyDataService.class);
 
+    /** Upper bound on cached row plans; the cache is reset when exceeded */
+    private static final int MAX_CACHED_PLANS = 1024;
+
+    /** Rows fetched per round trip when scanning existing primary keys */
+    private static final int KEY_SCAN_FETCH_SIZE = 10_000;
+
+    private final Map<TableMetadata, RowPlan> rowPlans = new ConcurrentHashMap<>();
+
+    /** Threads that generate chunks for parallel loads, shared by all loads */
+    private final ForkJoinPool generationPool;
+
+    /**
+     * Service with one generator thread per core.
+     */
+    public DummyDataService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param generatorThreads Size of the generator pool, the most chunks generated at once
+     */
+    DummyDataService(int generatorThreads) {
+        this.generationPool = newGenerationPool(generatorThreads);
+    }
+
+    /**
+     * Returns the compiled row plan for a table, compiling and caching it on first use.
+     * Plans are cached by metadata value, so re-introspecting an unchanged table reuses its plan.
+     *
+     * @param metadata Table metadata containing column information
+     * @return Row plan for the table
+     */
+    public RowPlan getRowPlan(TableMetadata metadata) {
+        RowPlan plan = rowPlans.get(metadata);
+        if (plan == null) {
+            if (rowPlans.size() >= MAX_CACHED_PLANS) {
+                rowPlans.clear();
+            }
+            plan = rowPlans.computeIfAbsent(metadata, RowPlan::compile);
+        }
+        return plan;
+    }
+
     /**
      * Generates a specified number of rows of dummy data for a table.
      * Ensures primary key uniqueness by checking existing values.
+     * Materializes every row, so prefer {@link #streamRows} for large row counts.
      *
      * @param dataSource DataSource for database connection
      * @param metadata Table metadata containing column information
      * @param rowCount Number of rows to generate
      * @param schema Database schema name
-     * @return List of generated rows as maps of column names to values
+     * @return Batch holding all generated rows, in table column order
      */
-    public List<Map<String, Object>> generateRows(DataSource dataSource, TableMetadata metadata, int rowCount,
-                                                  String schema) {
+    public RowBatch generateRows(DataSource dataSource, TableMetadata metadata, int rowCount, String schema) {
+        RowBatch[] result = new RowBatch[1];
+        streamRows(dataSource, metadata, rowCount, schema, Math.max(rowCount, 1), batch -> result[0] = batch);
+        return result[0] != null ? result[0] : getRowPlan(metadata).newBatch(0);
+    }
 
-        logger.info("Generating rows for table {}", metadata.getTableName());
-        logger.debug("Row schema: {}", metadata.getColumns());
+    /**
+     * Generates rows for a table and pushes them to a sink in batches of at most chunkSize rows.
+     * Only one batch is held in memory at a time, so memory stays bounded regardless of the row count.
+     * Ensures primary key uniqueness by checking existing values.
+     *
+     * @param dataSource DataSource for database connection
+     * @param metadata Table metadata containing column information
+     * @param rowCount Number of rows to generate
+     * @param schema Database schema name
+     * @param chunkSize Maximum number of rows handed to the sink per call
+     * @param sink Receiver of the generated batches, e.g. a database or Kafka writer
+     * @throws RuntimeException if the sink fails; generation stops at the failing chunk
+     */
+    public void streamRows(DataSource dataSource, TableMetadata metadata, long rowCount, String schema,
+                           int chunkSize, RowSink sink) {
+        streamRows(metadata, rowCount, chunkSize, primaryKeyStrategy(dataSource, metadata, schema, rowCount), sink);
+    }
+
+    /**
+     * Generates rows for a table and pushes them to a sink in batches of at most chunkSize rows,
+     * keeping primary keys unique through the given strategy. Passing the same strategy to consecutive calls
+     * keeps keys unique across them without looking at the table again.
+     * Records rows generated, per-generator fill time and the size of the primary key set in {@link LoadMetrics}.
+     *
+     * @param metadata Table metadata containing column information
+     * @param rowCount Number of rows to generate
+     * @param chunkSize Maximum number of rows handed to the sink per call
+     * @param keys Strategy from {@link #primaryKeyStrategy} for the same table
+     * @param sink Receiver of the generated batches, e.g. a database or Kafka writer
+     * @throws RuntimeException if the sink fails; generation stops at the failing chunk
+     */
+    public void streamRows(TableMetadata metadata, long rowCount, int chunkSize, PrimaryKeyStrategy keys,
+                           RowSink sink) {
+        streamRows(metadata, rowCount, chunkSize, keys, RandomStreams.UNSEEDED, sink);
+    }
+
+    /**
+     * Same as {@link #streamRows(TableMetadata, long, int, PrimaryKeyStrategy, RowSink)}, drawing every chunk
+     * from its own streams. With seeded streams the rows are reproducible: the same seed, chunk size, row counts
+     * and starting table state give the same rows. Like the key strategy, pass the same streams to consecutive
+     * calls for a table so their chunks are numbered on from the previous call.
+     *
+     * @param streams Sources of randomness from {@link RandomStreams#of} for the same table
+     */
+    public void streamRows(TableMetadata metadata, long rowCount, int chunkSize, PrimaryKeyStrategy keys,
+                           RandomStreams streams, RowSink sink) {
+        streamRows(metadata, rowCount, chunkSize, keys, streams, 1, ChunkOrder.ORDERED, sink);
+    }
 
-        List<Map<String, Object>> rows = new ArrayList<>();
+    /**
+     * Same as {@link #streamRows(TableMetadata, long, int, PrimaryKeyStrategy, RandomStreams, RowSink)},
+     * generating up to {@code parallelism} chunks at once on the service's generator threads while the calling
+     * thread hands finished chunks to the sink. See
+     * {@link #streamRows(TableMetadata, long, int, PrimaryKeyStrategy, RandomStreams, int, int, ChunkOrder, RowSink)}.
+     */
+    public void streamRows(TableMetadata metadata, long rowCount, int chunkSize, PrimaryKeyStrategy keys,
+                           RandomStreams streams, int parallelism, ChunkOrder order, RowSink sink) {
+        streamRows(metadata, rowCount, chunkSize, keys, streams, parallelism, 0, order, sink);
+    }
 
-        String pkColumn = metadata.getColumns().stream()
-                .filter(ColumnMetadata::isPrimaryKey)
-                .map(ColumnMetadata::getColumnName)
-                .findFirst().orElse(null);
+    /**
+     * Same as {@link #streamRows(TableMetadata, long, int, PrimaryKeyStrategy, RandomStreams, RowSink)}, with
+     * generation and the sink decoupled by a {@link RowPipeline}: up to {@code parallelism} chunks at a time are
+     * generated on the generator pool into a bounded queue that the calling thread drains into the sink, so rows
+     * are generated while the previous chunks are written. Each chunk is a task of its own, so concurrent loads
+     * share the pool chunk by chunk, even when there are more loads than generator threads. The sink is only ever called from the calling thread. When the queue is full,
+     * generation waits for the sink, so at most {@code parallelism + queueCapacity} chunks are held in memory.
+     * Chunks are numbered in row order before they are generated, so a seeded load generates the same chunks at
+     * any parallelism, sequential key ranges included. Only replacements for keys colliding with those of other
+     * chunks follow the order the chunks finish in.
+     *
+     * @param parallelism Number of chunks generated at once, capped at the size of the generator pool (one thread
+     *                    per core)
+     * @param queueCapacity Number of generated chunks that may wait for the sink; with 0 and a parallelism of 1
+     *                      rows are generated on the calling thread, in turn with the sink
+     * @param order Whether the sink receives chunks in row order or as soon as they are ready
+     * @throws CancellationException if the calling thread is interrupted while waiting for a chunk
+     */
+    public void streamRows(TableMetadata metadata, long rowCount, int chunkSize, PrimaryKeyStrategy keys,
+                           RandomStreams streams, int parallelism, int queueCapacity, ChunkOrder order,
+                           RowSink sink) {
+
+        long chunks = (rowCount + chunkSize - 1) / chunkSize;
+        int threads = (int) Math.max(1, Math.min(Math.min(parallelism, generationPool.getParallelism()), chunks));
+        boolean pipelined = chunks > 1 && (threads > 1 || queueCapacity > 0);
+        logger.info("Generating {} rows for table {} on {} thread(s){}", rowCount, metadata.getTableName(),
+                threads, pipelined ? ", " + queueCapacity + " chunk(s) ahead of the sink" : "");
+        logger.debug("Row schema: {}", metadata.getColumns());
 
-        Set<Object> existingPKs = (pkColumn != null)
-                ? fetchExistingPrimaryKeys(dataSource, schema, metadata.getTableName(), pkColumn)
-                : Collections.emptySet();
+        RowPlan plan = getRowPlan(metadata);
+        String table = metadata.getTableName();
+        Counter rowsGenerated = LoadMetrics.rowsGenerated(table);
+        Timer[] fillTimers = new Timer[plan.getColumnCount()];
+        for (int c = 0; c < fillTimers.length; c++) {
+            fillTimers[c] = LoadMetrics.generatorFill(plan.generatorName(c));
+        }
 
-        int generated = 0;
-        while (generated < rowCount) {
-            Map<String, Object> row = new HashMap<>();
+        if (pipelined) {
+            RowPipeline pipeline = new RowPipeline(plan, rowCount, chunkSize, keys, streams, threads,
+                    queueCapacity, fillTimers);
+            pipeline.start(generationPool);
+            pipeline.consume(order, batch -> {
+                rowsGenerated.increment(batch.size());
+                if (keys.trackedKeys() > 0) {
+                    LoadMetrics.primaryKeys(table, keys.trackedKeys());
+                }
+                emit(sink, batch, table);
+            });
+            return;
+        }
 
-            for (ColumnMetadata column : metadata.getColumns()) {
-                logger.debug("Generating column {} for row {}", column.getColumnName(), generated);
-                ColumnDataGenerator generator = DataGeneratorFactory.getGenerator(column);
-                Object value = generator.generate();
-                logger.debug("Generated value: {}", value);
-                row.put(column.getColumnName(), value);
+        RowBatch batch = plan.newBatch((int) Math.min(chunkSize, rowCount));
+        long remaining = rowCount;
+        while (remaining > 0) {
+            int n = (int) Math.min(batch.capacity(), remaining);
+            plan.fill(batch, n, streams, streams.claimChunk(), fillTimers);
+            keys.assignKeys(batch);
+            rowsGenerated.increment(n);
+            if (keys.trackedKeys() > 0) {
+                LoadMetrics.primaryKeys(table, keys.trackedKeys());
             }
 
-            if (pkColumn != null) {
-                Object pkValue = row.get(pkColumn);
-                if (existingPKs.contains(pkValue)) continue;
-                existingPKs.add(pkValue);
+            emit(sink, batch, table);
+            remaining -= n;
+        }
+    }
+
+    private static ForkJoinPool newGenerationPool(int threads) {
+        AtomicInteger threadIds = new AtomicInteger();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ddg-generate-" + threadIds.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Stops the generator threads on application shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        generationPool.shutdownNow();
+    }
+
+    /**
+     * Chooses how primary keys of a table are kept unique, from the type of its primary key column:
+     * <ul>
+     *   <li>integer keys are allocated sequentially above {@code MAX(pk)} when the type has room for expectedRows
+     *       more keys, without reading the existing keys;</li>
+     *   <li>otherwise integer keys are checked against a primitive {@link ConcurrentLongHashSet} of the existing keys;</li>
+     *   <li>other key types are checked against a set of the existing keys.</li>
+     * </ul>
+     * Existing keys are read with a streaming cursor, so the scan itself does not buffer the whole table.
+     *
+     * @param dataSource DataSource for database connection
+     * @param metadata Table metadata containing column information
+     * @param schema Database schema name
+     * @param expectedRows Total number of rows that will be generated with the strategy
+     * @return Strategy to pass to {@link #streamRows(TableMetadata, long, int, PrimaryKeyStrategy, RowSink)}
+     * @throws RuntimeException if there is an error accessing the database
+     */
+    public PrimaryKeyStrategy primaryKeyStrategy(DataSource dataSource, TableMetadata metadata, String schema,
+                                                 long expectedRows) {
+        RowPlan plan = getRowPlan(metadata);
+        int pkIndex = plan.getPrimaryKeyIndex();
+        if (pkIndex < 0) {
+            return PrimaryKeyStrategy.NONE;
+        }
+
+        String tableName = metadata.getTableName();
+        String pkColumn = plan.getPrimaryKeyColumn();
+        RowBatch.ColumnKind kind = plan.getColumnKind(pkIndex);
+
+        if (!kind.isIntegral()) {
+            Set<Object> keys = ConcurrentHashMap.newKeySet();
+            scanPrimaryKeys(dataSource, schema, tableName, pkColumn, rs -> keys.add(rs.getObject(1)));
+            logger.info("Checking primary keys of {} against {} existing keys", tableName, keys.size());
+            return new KeySetStrategy(plan, keys);
+        }
+
+        long maxValue = integerMaxValue(metadata.getColumns().get(pkIndex).getDataType(), kind);
+        Long currentMax = fetchMaxPrimaryKey(dataSource, schema, tableName, pkColumn);
+        if (currentMax == null || currentMax < maxValue) {
+            long start = currentMax != null ? currentMax + 1 : 1;
+            long room = maxValue - start + 1;
+            if (room <= 0) {
+                room = Long.MAX_VALUE; // overflowed: start is far below zero
+            }
+            if (room >= expectedRows) {
+                logger.info("Allocating primary keys of {} sequentially from {}", tableName, start);
+                return new SequentialKeyStrategy(plan, start, maxValue);
             }
+        }
 
-            rows.add(row);
-            generated++;
+        ConcurrentLongHashSet keys = new ConcurrentLongHashSet();
+        scanPrimaryKeys(dataSource, schema, tableName, pkColumn, rs -> keys.add(rs.getLong(1)));
+        logger.info("Checking primary keys of {} against {} existing keys", tableName, keys.size());
+        return new LongKeySetStrategy(plan, keys);
+    }
+
+    private static long integerMaxValue(String dataType, RowBatch.ColumnKind kind) {
+        String type = dataType != null ? dataType.toLowerCase() : "";
+        if (type.startsWith("int2") || type.startsWith("smallint")) {
+            return Short.MAX_VALUE;
         }
+        return kind == RowBatch.ColumnKind.INT ? Integer.MAX_VALUE : Long.MAX_VALUE;
+    }
 
-        return rows;
+    private static void emit(RowSink sink, RowBatch batch, String tableName) {
+        try {
+            sink.accept(batch);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write generated rows for table " + tableName, e);
+        }
     }
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
     /**
-     * Inserts a list of rows into a specified database table.
+     * Inserts a batch of rows into a specified database table.
      * Uses batch processing for efficient insertion.
      *
      * @param schema Database schema name
      * @param tableName Name of the table to insert into
-     * @param rows List of rows to insert, each as a map of column names to values
+     * @param rows Batch of rows to insert, in table column order
      */
-    public void insertRows(String schema, String tableName, List<Map<String, Object>> rows) {
+    public void insertRows(String schema, String tableName, RowBatch rows) {
         logger.debug("Inserting rows into table: {}", tableName);
 
         if (rows.isEmpty()) return;
 
-        String columns = String.join(", ", rows.get(0).keySet());
-        String placeholders = String.join(", ", Collections.nCopies(rows.get(0).size(), "?"));
+        String[] names = new String[rows.columnCount()];
+        for (int c = 0; c < names.length; c++) {
+            names[c] = rows.columnName(c);
+        }
+        String columns = String.join(", ", names);
+        String placeholders = String.join(", ", Collections.nCopies(names.length, "?"));
         String sql = String.format("INSERT INTO %s.%s (%s) VALUES (%s)", schema, tableName, columns, placeholders);
 
-        for (Map<String, Object> row : rows) {
-            jdbcTemplate.update(sql, row.values().toArray());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            args.add(rows.row(r));
         }
+        jdbcTemplate.batchUpdate(sql, args);
     }
 
     /**
      * Fetches existing primary key values from a table.
-     * Used to ensure uniqueness of generated primary key values.
+     * Holds every key in memory; {@link #primaryKeyStrategy} avoids that for large tables.
      *
      * @param dataSource DataSource for database connection
      * @param schema Database schema name
@@ -126,20 +367,69 @@ public class DummyDataService {
      */
     public Set<Object> fetchExistingPrimaryKeys(DataSource dataSource, String schema, String tableName, String primaryKeyColumn) {
         Set<Object> primaryKeys = new HashSet<>();
+        scanPrimaryKeys(dataSource, schema, tableName, primaryKeyColumn, rs -> primaryKeys.add(rs.getObject(1)));
+        return primaryKeys;
+    }
+
+    /**
+     * Receives the current row of a result set.
+     */
+    @FunctionalInterface
+    private interface RowCallback {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Reads every primary key value of a table with a streaming cursor.
+     * Auto-commit is switched off for the scan because drivers such as PostgreSQL only honour the fetch size
+     * inside a transaction, and would otherwise buffer the whole result.
+     */
+    private static void scanPrimaryKeys(DataSource dataSource, String schema, String tableName,
+                                        String primaryKeyColumn, RowCallback callback) {
         String sql = String.format("SELECT %s FROM %s.%s", primaryKeyColumn, schema, tableName);
+        long start = System.nanoTime();
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(KEY_SCAN_FETCH_SIZE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        callback.accept(rs);
+                    }
+                }
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error fetching primary keys: ", e);
+        }
+        logger.debug("Scanned primary keys of {}.{} in {} ms", schema, tableName,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Fetches the largest primary key value of a table.
+     *
+     * @return The largest key, or null if the table is empty
+     */
+    private static Long fetchMaxPrimaryKey(DataSource dataSource, String schema, String tableName,
+                                           String primaryKeyColumn) {
+        String sql = String.format("SELECT MAX(%s) FROM %s.%s", primaryKeyColumn, schema, tableName);
 
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                primaryKeys.add(rs.getObject(1));
+            if (!rs.next()) {
+                return null;
             }
-
+            long max = rs.getLong(1);
+            return rs.wasNull() ? null : max;
         } catch (SQLException e) {
-            throw new RuntimeException("Error fetching primary keys: ", e);
+            throw new RuntimeException("Error fetching max primary key: ", e);
         }
-
-        return primaryKeys;
     }
 }
@@ -0,0 +1,131 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Range of points in time as offsets from the epoch, in whatever unit the generator using it works in
+ * (microseconds for timestamps, days for dates). Bounds are fixed when the range is created, so drawing a value
+ * is arithmetic on longs.
+ *
+ * A range either draws random values, optionally skewed towards one end, or hands out evenly spaced increasing
+ * values like the timestamps of a time series. Monotonic ranges keep their position between calls and are safe to
+ * share between threads; each chunk filled with {@link #fill} is increasing on its own. Their values follow the
+ * order chunks are generated in, not the random source, so they are only reproducible for a seeded load that
+ * generates its chunks in the same order.
+ */
+public final class EpochRange {
+
+    private final long from;
+    private final long to;
+    private final double skew;
+    private final long step;
+    private final AtomicLong cursor;
+
+    private EpochRange(long from, long to, double skew, long step) {
+        if (from >= to) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (!(skew > 0)) {
+            throw new IllegalArgumentException("skew must be positive");
+        }
+        this.from = from;
+        this.to = to;
+        this.skew = skew;
+        this.step = step;
+        this.cursor = step > 0 ? new AtomicLong() : null;
+    }
+
+    /**
+     * Uniformly random values.
+     *
+     * @param from First value, inclusive
+     * @param to Last value, exclusive
+     */
+    public static EpochRange uniform(long from, long to) {
+        return new EpochRange(from, to, 1.0, 0);
+    }
+
+    /**
+     * Random values skewed towards one end of the range. A skew of 1 is uniform; above 1 values crowd towards
+     * {@code to}, e.g. recent timestamps, and below 1 towards {@code from}.
+     *
+     * @param from First value, inclusive
+     * @param to Last value, exclusive
+     * @param skew Positive skew exponent
+     */
+    public static EpochRange skewed(long from, long to, double skew) {
+        return new EpochRange(from, to, skew, 0);
+    }
+
+    /**
+     * Increasing values from {@code from}, step apart, wrapping back to {@code from} once they pass {@code to}.
+     *
+     * @param from First value, inclusive
+     * @param to Last value, exclusive
+     * @param step Positive distance between consecutive values
+     */
+    public static EpochRange monotonic(long from, long to, long step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        return new EpochRange(from, to, 1.0, step);
+    }
+
+    public long getFrom() {
+        return from;
+    }
+
+    public long getTo() {
+        return to;
+    }
+
+    public boolean isMonotonic() {
+        return cursor != null;
+    }
+
+    /**
+     * Draws the next value.
+     *
+     * @param random Source of randomness, unused by monotonic ranges
+     */
+    public long next(RandomGenerator random) {
+        if (cursor != null) {
+            return wrap(cursor.getAndAdd(step));
+        }
+        return random(random);
+    }
+
+    /**
+     * Draws values into a range of an array, claiming the whole run at once for monotonic ranges.
+     *
+     * @param out Destination array
+     * @param start First index to fill, inclusive
+     * @param end Last index to fill, exclusive
+     * @param random Source of randomness, unused by monotonic ranges
+     */
+    public void fill(long[] out, int start, int end, RandomGenerator random) {
+        if (cursor != null) {
+            long position = cursor.getAndAdd(step * (end - start));
+            for (int i = start; i < end; i++, position += step) {
+                out[i] = wrap(position);
+            }
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            out[i] = random(random);
+        }
+    }
+
+    private long wrap(long position) {
+        return from + Math.floorMod(position, to - from);
+    }
+
+    private long random(RandomGenerator random) {
+        if (skew == 1.0) {
+            return random.nextLong(from, to);
+        }
+        long offset = (long) (Math.pow(random.nextDouble(), 1.0 / skew) * (to - from));
+        return from + Math.min(offset, to - from - 1);
+    }
+}
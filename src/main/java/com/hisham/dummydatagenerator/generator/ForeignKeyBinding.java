@@ -0,0 +1,125 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.ForeignKeyMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The foreign key columns of one table and the pools they draw from, plus the columns of the table
+ * that children reference and whose values are recorded for them.
+ *
+ * Foreign key columns that are part of the primary key take the parent keys in order, cycling through the pool,
+ * so a child row per parent row gets distinct keys; other foreign key columns draw uniformly at random.
+ * A binding is used by one generation loop at a time.
+ */
+public final class ForeignKeyBinding {
+
+    /** Binding for loads that do not follow foreign keys */
+    public static final ForeignKeyBinding NONE = new ForeignKeyBinding();
+
+    private final int[] fillColumns;
+    private final KeyPool[] fillPools;
+    private final boolean[] sequential;
+    private final String[] parentNames;
+    private final int[] captureColumns;
+    private final KeyPool[] capturePools;
+    private long rowsFilled;
+
+    private ForeignKeyBinding() {
+        this.fillColumns = new int[0];
+        this.fillPools = new KeyPool[0];
+        this.sequential = new boolean[0];
+        this.parentNames = new String[0];
+        this.captureColumns = new int[0];
+        this.capturePools = new KeyPool[0];
+    }
+
+    ForeignKeyBinding(TableMetadata metadata, ForeignKeyPools pools) {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        List<Integer> fills = new ArrayList<>();
+        List<KeyPool> fillFrom = new ArrayList<>();
+        List<String> parents = new ArrayList<>();
+        for (ForeignKeyMetadata fk : metadata.getForeignKeys()) {
+            TableMetadata parent = pools.followedParent(metadata, fk);
+            int column = indexOf(columns, fk.getColumnName());
+            KeyPool pool = parent != null ? pools.getPool(parent.getTableName(), fk.getReferencedColumn()) : null;
+            if (column >= 0 && pool != null) {
+                fills.add(column);
+                fillFrom.add(pool);
+                parents.add(parent.getTableName() + "." + fk.getReferencedColumn());
+            }
+        }
+        List<Integer> captures = new ArrayList<>();
+        List<KeyPool> captureInto = new ArrayList<>();
+        for (int c = 0; c < columns.size(); c++) {
+            KeyPool pool = pools.getPool(metadata.getTableName(), columns.get(c).getColumnName());
+            if (pool != null) {
+                captures.add(c);
+                captureInto.add(pool);
+            }
+        }
+
+        this.fillColumns = fills.stream().mapToInt(Integer::intValue).toArray();
+        this.fillPools = fillFrom.toArray(new KeyPool[0]);
+        this.parentNames = parents.toArray(new String[0]);
+        this.sequential = new boolean[fillColumns.length];
+        for (int i = 0; i < fillColumns.length; i++) {
+            sequential[i] = columns.get(fillColumns[i]).isPrimaryKey();
+        }
+        this.captureColumns = captures.stream().mapToInt(Integer::intValue).toArray();
+        this.capturePools = captureInto.toArray(new KeyPool[0]);
+    }
+
+    /**
+     * True if the table has foreign key columns drawing from parent pools.
+     */
+    public boolean hasForeignKeys() {
+        return fillColumns.length > 0;
+    }
+
+    /**
+     * Overwrites the foreign key columns of a freshly generated batch with keys of the parent rows,
+     * drawing from the batch's row stream.
+     *
+     * @throws IllegalStateException if a parent generated no keys to reference
+     */
+    public void fill(RowBatch batch) {
+        RandomGenerator random = batch.random();
+        int rows = batch.size();
+        for (int i = 0; i < fillColumns.length; i++) {
+            KeyPool pool = fillPools[i];
+            int available = pool.size();
+            if (available == 0) {
+                throw new IllegalStateException("No generated keys of " + parentNames[i] + " to reference");
+            }
+            int column = fillColumns[i];
+            for (int r = 0; r < rows; r++) {
+                int index = sequential[i] ? (int) ((rowsFilled + r) % available) : random.nextInt(available);
+                pool.copyTo(index, batch, r, column);
+            }
+        }
+        rowsFilled += rows;
+    }
+
+    /**
+     * Records the values of the referenced columns of a written batch for the child tables.
+     */
+    public void capture(RowBatch batch) {
+        for (int i = 0; i < captureColumns.length; i++) {
+            capturePools[i].addAll(batch, captureColumns[i]);
+        }
+    }
+
+    private static int indexOf(List<ColumnMetadata> columns, String name) {
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).getColumnName().equalsIgnoreCase(name)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+}
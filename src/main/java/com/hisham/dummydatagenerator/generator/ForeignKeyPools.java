@@ -0,0 +1,140 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ForeignKeyMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The foreign keys between the tables of one multi-table load, and a {@link KeyPool} per referenced parent column.
+ * Parents record the keys they generate into their pools and children draw their foreign key values from them,
+ * so children only reference rows written by the same load and the parent tables are never queried.
+ *
+ * Only references between tables of the load are followed. Self-references, and references to tables outside
+ * of the load, keep their generated values. So do references that would close a cycle: tables are visited in load
+ * order and a reference is dropped if its parent already depends on the table, so the remaining references form
+ * an order the loader can follow and no table draws from a pool that is still being filled.
+ */
+public final class ForeignKeyPools {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForeignKeyPools.class);
+
+    private final String schema;
+    /** Tables by lower-cased name */
+    private final Map<String, TableMetadata> tables = new HashMap<>();
+    /** Parent tables per table, by the names used in the load */
+    private final Map<String, Set<String>> parents = new LinkedHashMap<>();
+    /** Pools by lower-cased "table.column" of the referenced parent column */
+    private final Map<String, KeyPool> pools = new HashMap<>();
+
+    /**
+     * @param schema Schema being loaded; references into other schemas are ignored
+     * @param metadata Every table of the load
+     */
+    public ForeignKeyPools(String schema, Collection<TableMetadata> metadata) {
+        this.schema = schema;
+        for (TableMetadata table : metadata) {
+            tables.put(normalize(table.getTableName()), table);
+        }
+        for (TableMetadata table : metadata) {
+            Set<String> tableParents = new LinkedHashSet<>();
+            for (ForeignKeyMetadata fk : table.getForeignKeys()) {
+                TableMetadata parent = parentOf(table, fk);
+                if (parent == null) {
+                    logger.debug("Foreign key {}.{} of {} is not followed", fk.getConstraintName(), fk, table.getTableName());
+                    continue;
+                }
+                if (!tableParents.contains(parent.getTableName()) && dependsOn(parent.getTableName(), table.getTableName())) {
+                    logger.warn("Foreign key {} of {} closes a cycle through {}; {} keeps its generated values",
+                            fk.getConstraintName(), table.getTableName(), parent.getTableName(), fk.getColumnName());
+                    continue;
+                }
+                tableParents.add(parent.getTableName());
+                pools.computeIfAbsent(poolKey(parent.getTableName(), fk.getReferencedColumn()), k -> new KeyPool());
+            }
+            parents.put(table.getTableName(), tableParents);
+        }
+    }
+
+    /**
+     * Tables each table references and therefore has to be loaded after. Contains no cycles.
+     */
+    public Map<String, Set<String>> getParents() {
+        return parents;
+    }
+
+    /**
+     * Returns the pool of a referenced parent column, or null if no table of the load references it.
+     */
+    public KeyPool getPool(String table, String column) {
+        return pools.get(poolKey(table, column));
+    }
+
+    /**
+     * Resolves the columns of one table that feed pools and the columns that draw from them.
+     */
+    public ForeignKeyBinding bind(TableMetadata metadata) {
+        return new ForeignKeyBinding(metadata, this);
+    }
+
+    /**
+     * The referenced table if the foreign key is followed, null otherwise.
+     */
+    TableMetadata followedParent(TableMetadata table, ForeignKeyMetadata fk) {
+        TableMetadata parent = parentOf(table, fk);
+        Set<String> tableParents = parents.get(table.getTableName());
+        return parent != null && tableParents != null && tableParents.contains(parent.getTableName()) ? parent : null;
+    }
+
+    /**
+     * True if the table references the other table, directly or through the references followed so far.
+     */
+    private boolean dependsOn(String table, String other) {
+        Deque<String> pending = new ArrayDeque<>(List.of(table));
+        Set<String> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String next = pending.poll();
+            if (next.equals(other)) {
+                return true;
+            }
+            if (visited.add(next)) {
+                pending.addAll(parents.getOrDefault(next, Set.of()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The referenced table if it is part of the load and not the table itself, null otherwise.
+     */
+    private TableMetadata parentOf(TableMetadata table, ForeignKeyMetadata fk) {
+        if (fk.getReferencedSchema() != null && schema != null && !fk.getReferencedSchema().equalsIgnoreCase(schema)) {
+            return null;
+        }
+        TableMetadata parent = tables.get(normalize(fk.getReferencedTable()));
+        if (parent == null || parent == table) {
+            return null;
+        }
+        return parent;
+    }
+
+    private static String poolKey(String table, String column) {
+        return normalize(table) + "." + normalize(column);
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,46 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator of 32-bit integer values that can produce them without boxing.
+ * {@link RowPlan} stores the output of these generators in a primitive column of the {@link RowBatch}.
+ */
+public interface IntColumnGenerator extends ColumnDataGenerator {
+
+    /**
+     * Generates a value appropriate for the column's data type.
+     *
+     * @param random Source of randomness
+     * @return Generated value
+     */
+    int generateInt(RandomGenerator random);
+
+    default int generateInt() {
+        return generateInt(ThreadLocalRandom.current());
+    }
+
+    @Override
+    default Object generate(RandomGenerator random) {
+        return generateInt(random);
+    }
+
+    /**
+     * Generates values into a range of a primitive array.
+     *
+     * @param out Destination array
+     * @param from First index to fill, inclusive
+     * @param to Last index to fill, exclusive
+     * @param random Source of randomness
+     */
+    default void fill(int[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = generateInt(random);
+        }
+    }
+
+    default void fill(int[] out, int from, int to) {
+        fill(out, from, to, ThreadLocalRandom.current());
+    }
+}
@@ -1,8 +1,8 @@
 package com.hisham.dummydatagenerator.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
-public class IntegerGenerator implements ColumnDataGenerator {
+public class IntegerGenerator implements IntColumnGenerator {
 
     private int min;
     private int max;
@@ -13,7 +13,14 @@ public class IntegerGenerator implements ColumnDataGenerator {
     }
 
     @Override
-    public Object generate() {
-        return ThreadLocalRandom.current().nextInt(min, max);
+    public int generateInt(RandomGenerator random) {
+        return random.nextInt(min, max);
+    }
+
+    @Override
+    public void fill(int[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = random.nextInt(min, max);
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.Arrays;
+
+/**
+ * The values a parent column received during a load, kept for the child tables that reference it.
+ * Integer columns are kept in a growable long[] so large parents cost eight bytes per key and no boxing;
+ * other columns are kept as objects.
+ *
+ * A pool is appended to by the one thread loading the parent table and only read once that load finished.
+ */
+public final class KeyPool {
+
+    private long[] longs;
+    private Object[] objects;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * True if the pool holds primitive integer keys.
+     */
+    public boolean isIntegral() {
+        return longs != null;
+    }
+
+    /**
+     * Appends every value of one column of a batch. Nulls are skipped, a child cannot reference them.
+     */
+    public void addAll(RowBatch batch, int column) {
+        int rows = batch.size();
+        if (batch.isIntegral(column)) {
+            if (objects != null) {
+                throw new IllegalStateException("Pool holds objects, cannot add integers of " + batch.columnName(column));
+            }
+            longs = grow(longs, size + rows);
+            for (int r = 0; r < rows; r++) {
+                longs[size++] = batch.getLong(r, column);
+            }
+        } else {
+            if (longs != null) {
+                throw new IllegalStateException("Pool holds integers, cannot add objects of " + batch.columnName(column));
+            }
+            objects = objects == null ? new Object[Math.max(16, rows)] : objects;
+            if (objects.length < size + rows) {
+                objects = Arrays.copyOf(objects, Math.max(size + rows, objects.length * 2));
+            }
+            for (int r = 0; r < rows; r++) {
+                Object value = batch.get(r, column);
+                if (value != null) {
+                    objects[size++] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the key at the given position into a cell of a child batch.
+     */
+    void copyTo(int index, RowBatch batch, int row, int column) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Key " + index + " of " + size);
+        }
+        if (longs != null) {
+            batch.setLong(row, column, longs[index]);
+        } else {
+            batch.set(row, column, objects[index]);
+        }
+    }
+
+    /**
+     * Returns the key at the given position, boxed if the pool holds integers.
+     */
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Key " + index + " of " + size);
+        }
+        return longs != null ? longs[index] : objects[index];
+    }
+
+    private static long[] grow(long[] array, int needed) {
+        if (array == null) {
+            return new long[Math.max(16, needed)];
+        }
+        return array.length >= needed ? array : Arrays.copyOf(array, Math.max(needed, array.length * 2));
+    }
+}
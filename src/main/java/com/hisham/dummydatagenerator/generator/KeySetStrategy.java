@@ -0,0 +1,37 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.Set;
+
+/**
+ * Primary keys of any type checked against a set of the existing keys, regenerating a key until it is unused.
+ * Fallback for key types that cannot be allocated or stored as primitives.
+ */
+class KeySetStrategy implements PrimaryKeyStrategy {
+
+    private final RowPlan plan;
+    private final Set<Object> keys;
+
+    /**
+     * @param plan Plan of the table whose keys are assigned
+     * @param existingKeys Keys already in the table. Must be a concurrent set, e.g. from
+     *                     {@link java.util.concurrent.ConcurrentHashMap#newKeySet()}, as parallel chunks add to it
+     */
+    KeySetStrategy(RowPlan plan, Set<Object> existingKeys) {
+        this.plan = plan;
+        this.keys = existingKeys;
+    }
+
+    @Override
+    public void assignKeys(RowBatch batch) {
+        for (int row = 0; row < batch.size(); row++) {
+            while (!keys.add(plan.primaryKey(batch, row))) {
+                plan.regeneratePrimaryKey(batch, row);
+            }
+        }
+    }
+
+    @Override
+    public long trackedKeys() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator of 64-bit integer values that can produce them without boxing.
+ * {@link RowPlan} stores the output of these generators in a primitive column of the {@link RowBatch}.
+ */
+public interface LongColumnGenerator extends ColumnDataGenerator {
+
+    /**
+     * Generates a value appropriate for the column's data type.
+     *
+     * @param random Source of randomness
+     * @return Generated value
+     */
+    long generateLong(RandomGenerator random);
+
+    default long generateLong() {
+        return generateLong(ThreadLocalRandom.current());
+    }
+
+    @Override
+    default Object generate(RandomGenerator random) {
+        return generateLong(random);
+    }
+
+    /**
+     * Generates values into a range of a primitive array.
+     *
+     * @param out Destination array
+     * @param from First index to fill, inclusive
+     * @param to Last index to fill, exclusive
+     * @param random Source of randomness
+     */
+    default void fill(long[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = generateLong(random);
+        }
+    }
+
+    default void fill(long[] out, int from, int to) {
+        fill(out, from, to, ThreadLocalRandom.current());
+    }
+}
@@ -0,0 +1,116 @@
+package com.hisham.dummydatagenerator.generator;
+
+/**
+ * Open-addressing hash set of primitive longs with linear probing.
+ * Stores keys in a single long[] without boxing or entry objects. Not thread-safe.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    /** Zero marks empty slots, so its membership is tracked separately */
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of keys the set should hold without resizing
+     */
+    public LongHashSet(int expectedSize) {
+        long needed = (long) (expectedSize / LOAD_FACTOR) + 1;
+        int capacity = 16;
+        while (capacity < needed && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @return true if the key was not already present
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slot(key);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+        if (++size >= resizeAt) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int slot = slot(key);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        // Murmur3 finalizer, spreads sequential keys across the table
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long key : old) {
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = key;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongHashSet[size=" + size + ", capacity=" + table.length + "]";
+    }
+}
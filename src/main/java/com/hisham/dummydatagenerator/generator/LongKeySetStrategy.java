@@ -0,0 +1,33 @@
+package com.hisham.dummydatagenerator.generator;
+
+/**
+ * Integer primary keys checked against a primitive set of the existing keys, regenerating a key until it is unused.
+ * Used when the key column has no room for a sequential range, at 8 to 16 bytes per key instead of a boxed set entry.
+ * The set is segmented, so chunks generated in parallel check their keys without waiting on each other.
+ */
+class LongKeySetStrategy implements PrimaryKeyStrategy {
+
+    private final RowPlan plan;
+    private final int keyColumn;
+    private final ConcurrentLongHashSet keys;
+
+    LongKeySetStrategy(RowPlan plan, ConcurrentLongHashSet existingKeys) {
+        this.plan = plan;
+        this.keyColumn = plan.getPrimaryKeyIndex();
+        this.keys = existingKeys;
+    }
+
+    @Override
+    public void assignKeys(RowBatch batch) {
+        for (int row = 0; row < batch.size(); row++) {
+            while (!keys.add(batch.getLong(row, keyColumn))) {
+                plan.regeneratePrimaryKey(batch, row);
+            }
+        }
+    }
+
+    @Override
+    public long trackedKeys() {
+        return keys.size();
+    }
+}
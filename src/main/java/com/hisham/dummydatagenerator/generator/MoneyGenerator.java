@@ -2,7 +2,7 @@ package com.hisham.dummydatagenerator.generator;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class MoneyGenerator implements ColumnDataGenerator {
     /*
@@ -13,8 +13,8 @@ public class MoneyGenerator implements ColumnDataGenerator {
     ---
      */
     @Override
-    public Object generate() {
-        return "$" + BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble(10, 500)).setScale(2, RoundingMode.HALF_UP);
+    public Object generate(RandomGenerator random) {
+        return "$" + BigDecimal.valueOf(random.nextDouble(10, 500)).setScale(2, RoundingMode.HALF_UP);
     }
 }
 
@@ -2,7 +2,7 @@ package com.hisham.dummydatagenerator.generator;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class NumericGenerator implements ColumnDataGenerator {
         private final int precision;
@@ -14,9 +14,9 @@ public class NumericGenerator implements ColumnDataGenerator {
         }
 
         @Override
-        public Object generate() {
+        public Object generate(RandomGenerator random) {
             double max = Math.pow(10, precision - scale) - 1;
-            double value = ThreadLocalRandom.current().nextDouble(0, max);
+            double value = random.nextDouble(0, max);
             return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
         }
     }
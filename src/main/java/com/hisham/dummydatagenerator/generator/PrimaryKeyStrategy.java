@@ -0,0 +1,48 @@
+package com.hisham.dummydatagenerator.generator;
+
+/**
+ * Keeps generated primary keys unique, both against the keys already in the table and against each other.
+ * A strategy is chosen once per table load by {@link DummyDataService#primaryKeyStrategy} from the type of the
+ * primary key column, and remembers the keys it handed out, so it can be reused across transactions.
+ *
+ * Strategies are thread-safe: a load generating on several threads assigns the keys of several chunks at once.
+ */
+@FunctionalInterface
+public interface PrimaryKeyStrategy {
+
+    /** Strategy for tables without a primary key */
+    PrimaryKeyStrategy NONE = batch -> { };
+
+    /**
+     * Rewrites or regenerates primary key values in a freshly filled batch until every row has an unused key.
+     *
+     * @param batch Batch filled by the table's {@link RowPlan}
+     */
+    void assignKeys(RowBatch batch);
+
+    /**
+     * Reserves the keys of the next chunk before it is generated. Chunks generated in parallel reserve their keys
+     * in row order and assign them with {@link #assignKeys(RowBatch, long)} once filled, so the keys a row gets do
+     * not depend on which chunk finishes first.
+     *
+     * @param rows Number of rows of the chunk
+     * @return Reservation to pass to {@link #assignKeys(RowBatch, long)}, or -1 if the strategy reserves nothing
+     */
+    default long reserveKeys(int rows) {
+        return -1;
+    }
+
+    /**
+     * Assigns keys to a freshly filled batch from a reservation made by {@link #reserveKeys(int)}.
+     */
+    default void assignKeys(RowBatch batch, long reservation) {
+        assignKeys(batch);
+    }
+
+    /**
+     * Number of keys the strategy holds in memory to check uniqueness, 0 for strategies that keep none.
+     */
+    default long trackedKeys() {
+        return 0;
+    }
+}
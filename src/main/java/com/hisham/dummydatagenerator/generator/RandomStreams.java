@@ -0,0 +1,94 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sources of randomness for the load of one table.
+ *
+ * A seeded load derives an independent {@link SplittableRandom} for every (table, column, chunk) from the seed,
+ * so a chunk's values depend only on the seed, the table name, and the chunk's position and size. They do not
+ * depend on which thread generates the chunk or on what was generated before it. The same seed, row count and
+ * chunk size therefore regenerate the same rows, even when the chunks are spread over several threads.
+ * An unseeded load uses {@link ThreadLocalRandom} throughout.
+ *
+ * Chunks are numbered from 0 by {@link #claimChunk()}. Pass the same instance to every call that generates rows
+ * for the table, like the {@link PrimaryKeyStrategy}, so later transactions continue the numbering.
+ */
+public final class RandomStreams {
+
+    /** Streams of a load without a seed */
+    public static final RandomStreams UNSEEDED = new RandomStreams(false, 0);
+
+    /** Stream index of the values drawn after a chunk is filled, e.g. replacement keys and foreign keys */
+    private static final int ROW_STREAM = -1;
+
+    private final boolean seeded;
+    private final long tableSeed;
+    private final AtomicLong nextChunk = new AtomicLong();
+
+    private RandomStreams(boolean seeded, long tableSeed) {
+        this.seeded = seeded;
+        this.tableSeed = tableSeed;
+    }
+
+    /**
+     * Streams for a table of a seeded load.
+     *
+     * @param seed Seed of the load
+     * @param table Name of the table, which keeps tables of the same load independent
+     */
+    public static RandomStreams seeded(long seed, String table) {
+        return new RandomStreams(true, mix(mix(seed) ^ table.hashCode()));
+    }
+
+    /**
+     * Streams for a table, seeded when a seed is given.
+     *
+     * @param seed Seed of the load, or null for an unseeded load
+     * @param table Name of the table
+     */
+    public static RandomStreams of(Long seed, String table) {
+        return seed != null ? seeded(seed, table) : UNSEEDED;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Number of the next chunk of the table.
+     */
+    public long claimChunk() {
+        return seeded ? nextChunk.getAndIncrement() : 0;
+    }
+
+    /**
+     * Source for the values of one column of one chunk.
+     */
+    public RandomGenerator forColumn(long chunk, int column) {
+        if (!seeded) {
+            return ThreadLocalRandom.current();
+        }
+        return new SplittableRandom(mix(mix(tableSeed + chunk) + column));
+    }
+
+    /**
+     * Source for the values drawn after a chunk is filled: replacements for colliding primary keys and
+     * picks from the parents' foreign keys.
+     */
+    public RandomGenerator forRows(long chunk) {
+        return forColumn(chunk, ROW_STREAM);
+    }
+
+    /**
+     * Stafford's variant 13 of the MurmurHash3 finalizer, as used by SplittableRandom, to spread nearby inputs.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,338 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A fixed-capacity batch of generated rows stored column by column.
+ * Column positions follow {@link TableMetadata#getColumns()}, so writers bind values by index
+ * instead of looking them up by column name, and no per-row map or entry objects are allocated.
+ *
+ * Columns fed by {@link IntColumnGenerator}s, {@link LongColumnGenerator}s and {@link TimestampColumnGenerator}s
+ * are stored in primitive arrays. Writers that can bind primitives read them through {@link #getInt},
+ * {@link #getLong} and {@link #getEpochMicros} without boxing; {@link #get} boxes them for everyone else.
+ *
+ * Batches are reused: {@link #clear()} resets the size and the next rows overwrite the old values.
+ */
+public final class RowBatch {
+
+    /**
+     * How the values of a column are stored.
+     */
+    public enum ColumnKind {
+        OBJECT, INT, LONG,
+        /** Microseconds since the epoch in UTC, boxed as {@link OffsetDateTime} */
+        TIMESTAMP;
+
+        /**
+         * True for integer columns, whose values can be read with {@link #getLong}.
+         */
+        public boolean isIntegral() {
+            return this == INT || this == LONG;
+        }
+    }
+
+    private final TableMetadata metadata;
+    private final String[] columnNames;
+    private final ColumnKind[] kinds;
+    private final Object[][] objects;
+    private final int[][] ints;
+    private final long[][] longs;
+    private final int capacity;
+    private int size;
+    /** Row stream of the chunk in the batch, null for batches not filled by a plan */
+    private RandomGenerator random;
+
+    /**
+     * Creates a batch storing every column as objects.
+     */
+    public RowBatch(TableMetadata metadata, int capacity) {
+        this(metadata, capacity, null);
+    }
+
+    /**
+     * Creates a batch with the given storage per column.
+     *
+     * @param metadata Table the rows belong to
+     * @param capacity Maximum number of rows
+     * @param kinds Storage per column in column order, or null to store every column as objects
+     */
+    public RowBatch(TableMetadata metadata, int capacity, ColumnKind[] kinds) {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        int columnCount = columns.size();
+        if (kinds != null && kinds.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " column kinds but got " + kinds.length);
+        }
+        this.metadata = metadata;
+        this.capacity = capacity;
+        this.columnNames = new String[columnCount];
+        this.kinds = new ColumnKind[columnCount];
+        this.objects = new Object[columnCount][];
+        this.ints = new int[columnCount][];
+        this.longs = new long[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            columnNames[i] = columns.get(i).getColumnName();
+            this.kinds[i] = kinds != null ? kinds[i] : ColumnKind.OBJECT;
+            switch (this.kinds[i]) {
+                case INT -> ints[i] = new int[capacity];
+                case LONG, TIMESTAMP -> longs[i] = new long[capacity];
+                default -> objects[i] = new Object[capacity];
+            }
+        }
+    }
+
+    public TableMetadata getMetadata() {
+        return metadata;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public int columnCount() {
+        return columnNames.length;
+    }
+
+    public String columnName(int column) {
+        return columnNames[column];
+    }
+
+    public ColumnKind kind(int column) {
+        return kinds[column];
+    }
+
+    /**
+     * Returns a value, boxing it if the column is stored as primitives.
+     */
+    public Object get(int row, int column) {
+        return switch (kinds[column]) {
+            case INT -> ints[column][row];
+            case LONG -> longs[column][row];
+            case TIMESTAMP -> TimestampGenerator.toOffsetDateTime(longs[column][row]);
+            default -> objects[column][row];
+        };
+    }
+
+    /**
+     * Returns a value of an {@link ColumnKind#INT} column.
+     */
+    public int getInt(int row, int column) {
+        if (kinds[column] != ColumnKind.INT) {
+            throw new IllegalStateException("Column " + columnNames[column] + " is stored as " + kinds[column]);
+        }
+        return ints[column][row];
+    }
+
+    /**
+     * Returns a value of an {@link ColumnKind#INT} or {@link ColumnKind#LONG} column.
+     */
+    public long getLong(int row, int column) {
+        return switch (kinds[column]) {
+            case INT -> ints[column][row];
+            case LONG -> longs[column][row];
+            default -> throw new IllegalStateException("Column " + columnNames[column] + " is stored as " + kinds[column]);
+        };
+    }
+
+    /**
+     * Returns a value of a {@link ColumnKind#TIMESTAMP} column as microseconds since the epoch.
+     */
+    public long getEpochMicros(int row, int column) {
+        if (kinds[column] != ColumnKind.TIMESTAMP) {
+            throw new IllegalStateException("Column " + columnNames[column] + " is stored as " + kinds[column]);
+        }
+        return longs[column][row];
+    }
+
+    /**
+     * True if the column is stored as primitive integers and can be read with {@link #getLong}.
+     */
+    public boolean isIntegral(int column) {
+        return kinds[column].isIntegral();
+    }
+
+    Object[] objectColumn(int column) {
+        return objects[column];
+    }
+
+    int[] intColumn(int column) {
+        return ints[column];
+    }
+
+    long[] longColumn(int column) {
+        return longs[column];
+    }
+
+    /**
+     * Overwrites one value with an integer, narrowing it for {@link ColumnKind#INT} columns
+     * and boxing it for object columns.
+     */
+    void setLong(int row, int column, long value) {
+        switch (kinds[column]) {
+            case INT -> ints[column][row] = (int) value;
+            case LONG, TIMESTAMP -> longs[column][row] = value;
+            default -> objects[column][row] = value;
+        }
+    }
+
+    /**
+     * Overwrites one value; primitive columns take non-null numbers, and timestamp columns also date-times.
+     */
+    void set(int row, int column, Object value) {
+        switch (kinds[column]) {
+            case INT -> ints[column][row] = ((Number) value).intValue();
+            case LONG -> longs[column][row] = ((Number) value).longValue();
+            case TIMESTAMP -> longs[column][row] = toEpochMicros(value);
+            default -> objects[column][row] = value;
+        }
+    }
+
+    private static long toEpochMicros(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        Instant instant;
+        if (value instanceof OffsetDateTime time) {
+            instant = time.toInstant();
+        } else if (value instanceof LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        } else if (value instanceof java.sql.Timestamp time) {
+            instant = time.toInstant();
+        } else {
+            instant = (Instant) value;
+        }
+        return TimestampGenerator.toEpochMicros(instant);
+    }
+
+    /**
+     * Source for values drawn after the batch was filled, such as replacement and foreign keys:
+     * the row stream of the chunk from {@link RandomStreams#forRows}, or {@link ThreadLocalRandom}.
+     */
+    RandomGenerator random() {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Marks the first rows as filled after their columns were written directly.
+     */
+    void setSize(int size) {
+        if (size < 0 || size > capacity) {
+            throw new IllegalArgumentException("Size " + size + " outside of capacity " + capacity);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Appends a complete row.
+     *
+     * @param row One value per column, in column order; primitive columns take non-null numbers,
+     *            and timestamp columns also date-times
+     */
+    public void addRow(Object... row) {
+        if (row.length != columnNames.length) {
+            throw new IllegalArgumentException("Expected " + columnNames.length + " values but got " + row.length);
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("Row batch is full");
+        }
+        for (int i = 0; i < row.length; i++) {
+            set(size, i, row[i]);
+        }
+        size++;
+    }
+
+    /**
+     * Empties the batch so it can be refilled. Old values are overwritten, not released.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copies one row out of the batch.
+     */
+    public Object[] row(int row) {
+        Object[] copy = new Object[columnNames.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = get(row, i);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a read-only map view of one row keyed by column name, for serializers that expect a map.
+     * The view reads through to the batch, so it must be consumed before the batch is cleared and refilled.
+     */
+    public Map<String, Object> rowView(int row) {
+        return new RowView(row);
+    }
+
+    private final class RowView extends AbstractMap<String, Object> {
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < columnNames.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int c = column++;
+                            return new SimpleImmutableEntry<>(columnNames[c], RowBatch.this.get(row, c));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columnNames.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded producer/consumer pipeline between the chunks of one table being generated and the thread writing
+ * them, so generation and I/O run at the same time.
+ *
+ * The pipeline owns a fixed ring of {@code producers + queueCapacity} batches. Each chunk is generated by its own
+ * task on the executor: the pipeline claims the next chunk into an empty batch and submits it, and a finished
+ * task queues its chunk and claims the next one. The consumer hands queued batches to the sink and returns them
+ * to the ring, which claims the next chunk if generation had paused. At most {@code producers} chunks are
+ * generated at once, and when the writer falls behind no empty batch is left, so generation pauses and memory
+ * stays bounded at the size of the ring (backpressure). No task ever waits on the executor, so loads sharing it
+ * take turns chunk by chunk instead of holding its threads until they finish. Time spent paused or waiting on
+ * either side and the number of queued chunks are recorded in {@link LoadMetrics}.
+ *
+ * Chunks are claimed and numbered in row order under the pipeline's lock, together with their reserved primary
+ * keys, so seeded loads generate the same chunks at any number of producers.
+ */
+final class RowPipeline {
+
+    private final RowPlan plan;
+    private final PrimaryKeyStrategy keys;
+    private final RandomStreams streams;
+    private final Timer[] fillTimers;
+    private final int chunkSize;
+    private final int producers;
+    private final int maxBatches;
+    private final long chunkCount;
+
+    private final AtomicLong queueDepth;
+    private final Timer producerWait;
+    private final Timer consumerWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when a chunk is queued, generation fails or the pipeline closes */
+    private final Condition chunkReady = lock.newCondition();
+
+    // Guarded by lock
+    private Executor executor;
+    private final Deque<RowBatch> free = new ArrayDeque<>();
+    /** Generated chunks by their position in the load */
+    private final TreeMap<Long, RowBatch> ready = new TreeMap<>();
+    private int batches;
+    private int generating;
+    private long claimed;
+    private long remaining;
+    /** When generation paused for lack of an empty batch, or -1 */
+    private long pausedSince = -1;
+    private Throwable failure;
+    private boolean closed;
+
+    /**
+     * @param plan Plan of the table
+     * @param rowCount Number of rows to generate
+     * @param chunkSize Rows per chunk
+     * @param keys Strategy keeping primary keys unique; must be thread-safe with more than one producer
+     * @param streams Sources of randomness of the table
+     * @param producers Number of chunks generated at once
+     * @param queueCapacity Number of generated chunks that may wait for the consumer
+     * @param fillTimers Per-column fill timers, see {@link RowPlan#fill(RowBatch, int, RandomStreams, long, Timer[])}
+     */
+    RowPipeline(RowPlan plan, long rowCount, int chunkSize, PrimaryKeyStrategy keys, RandomStreams streams,
+                int producers, int queueCapacity, Timer[] fillTimers) {
+        this.plan = plan;
+        this.keys = keys;
+        this.streams = streams;
+        this.fillTimers = fillTimers;
+        this.chunkSize = chunkSize;
+        this.producers = producers;
+        this.maxBatches = producers + queueCapacity;
+        this.chunkCount = (rowCount + chunkSize - 1) / chunkSize;
+        this.remaining = rowCount;
+
+        String table = plan.getMetadata().getTableName();
+        this.queueDepth = LoadMetrics.pipelineQueueDepth(table);
+        this.producerWait = LoadMetrics.pipelineProducerWait(table);
+        this.consumerWait = LoadMetrics.pipelineConsumerWait(table);
+    }
+
+    /**
+     * Starts generating on the given executor.
+     */
+    void start(Executor executor) {
+        lock.lock();
+        try {
+            this.executor = executor;
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+    }
+
+    /**
+     * Hands every chunk to the consumer on the calling thread, then returns once the last chunk was consumed.
+     * Closes the pipeline on the way out, so generation stops after a failure on either side.
+     *
+     * @param order Whether chunks are consumed in row order or as soon as they are ready
+     * @param consumer Receiver of each chunk; the batch goes back to the ring once it returns
+     * @throws CancellationException if the calling thread is interrupted while waiting for a chunk
+     */
+    void consume(ChunkOrder order, ChunkConsumer consumer) {
+        try {
+            for (long next = 0; next < chunkCount; next++) {
+                RowBatch batch = take(order == ChunkOrder.ORDERED ? next : -1);
+                consumer.accept(batch);
+                release(batch);
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Receives the chunks of a pipeline. Runtime exceptions are passed through to the caller of {@link #consume}.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+        void accept(RowBatch batch);
+    }
+
+    /**
+     * A claimed chunk: its batch (null until one is allocated), rows, position in the load, stream number and
+     * reserved primary keys.
+     */
+    private record Claim(RowBatch batch, int rows, long position, long chunk, long reservation) {
+    }
+
+    /**
+     * Claims chunks while fewer than {@code producers} are being generated and an empty batch is available,
+     * and submits a task for each.
+     */
+    private void schedule() {
+        List<Claim> claims = new ArrayList<>();
+        Executor target;
+        lock.lock();
+        try {
+            target = executor;
+            while (target != null && !closed && remaining > 0 && generating < producers) {
+                RowBatch batch;
+                if (!free.isEmpty()) {
+                    batch = free.pop();
+                } else if (batches < maxBatches) {
+                    batches++;
+                    batch = null;
+                } else {
+                    if (pausedSince < 0) {
+                        pausedSince = System.nanoTime();
+                    }
+                    break;
+                }
+                if (pausedSince >= 0) {
+                    producerWait.record(System.nanoTime() - pausedSince, TimeUnit.NANOSECONDS);
+                    pausedSince = -1;
+                }
+                int rows = (int) Math.min(chunkSize, remaining);
+                long reservation;
+                try {
+                    reservation = keys.reserveKeys(rows);
+                } catch (RuntimeException e) {
+                    fail(e);
+                    break;
+                }
+                remaining -= rows;
+                generating++;
+                claims.add(new Claim(batch, rows, claimed++, streams.claimChunk(), reservation));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Claim claim : claims) {
+            try {
+                target.execute(() -> generate(claim));
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+        }
+    }
+
+    private void generate(Claim claim) {
+        RowBatch batch = claim.batch();
+        try {
+            if (batch == null) {
+                batch = plan.newBatch(chunkSize);
+            }
+            plan.fill(batch, claim.rows(), streams, claim.chunk(), fillTimers);
+            keys.assignKeys(batch, claim.reservation());
+        } catch (Throwable e) {
+            fail(e);
+            return;
+        }
+
+        lock.lock();
+        try {
+            generating--;
+            if (closed) {
+                return;
+            }
+            ready.put(claim.position(), batch);
+            queueDepth.incrementAndGet();
+            chunkReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+    }
+
+    /**
+     * Waits for a generated chunk.
+     *
+     * @param position Position of the chunk to take, or -1 for whichever chunk is ready first
+     */
+    private RowBatch take(long position) {
+        lock.lock();
+        try {
+            if (!isReady(position) && failure == null) {
+                long start = System.nanoTime();
+                try {
+                    while (!isReady(position) && failure == null) {
+                        chunkReady.await();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Interrupted while waiting for generated rows");
+                } finally {
+                    consumerWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+            if (failure != null) {
+                throw propagate(failure);
+            }
+            queueDepth.decrementAndGet();
+            return position >= 0 ? ready.remove(position) : ready.pollFirstEntry().getValue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isReady(long position) {
+        return position >= 0 ? ready.containsKey(position) : !ready.isEmpty();
+    }
+
+    private void release(RowBatch batch) {
+        lock.lock();
+        try {
+            free.push(batch);
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+    }
+
+    private void fail(Throwable e) {
+        lock.lock();
+        try {
+            if (failure == null) {
+                failure = e;
+            }
+            closed = true;
+            chunkReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queueDepth.addAndGet(-ready.size());
+            ready.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException("Failed to generate rows for table " + plan.getMetadata().getTableName(), e);
+    }
+}
@@ -0,0 +1,186 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * A table's row generation compiled ahead of time.
+ * Resolves each column's generator once through {@link DataGeneratorFactory}, so producing a row is an
+ * indexed loop over prebuilt generators instead of a type lookup and generator allocation per cell.
+ * Rows are generated column by column into a {@link RowBatch}, integer and timestamp columns without boxing.
+ *
+ * Plans are immutable and the generators they hold are stateless, so one plan can be shared between threads.
+ */
+public final class RowPlan {
+
+    private final TableMetadata metadata;
+    private final String[] columnNames;
+    private final ColumnDataGenerator[] generators;
+    private final RowBatch.ColumnKind[] kinds;
+    private final int primaryKeyIndex;
+
+    private RowPlan(TableMetadata metadata) {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        this.metadata = metadata;
+        this.columnNames = new String[columns.size()];
+        this.generators = new ColumnDataGenerator[columns.size()];
+        this.kinds = new RowBatch.ColumnKind[columns.size()];
+
+        int pkIndex = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMetadata column = columns.get(i);
+            columnNames[i] = column.getColumnName();
+            generators[i] = DataGeneratorFactory.getGenerator(column);
+            kinds[i] = kindOf(generators[i]);
+            if (pkIndex < 0 && column.isPrimaryKey()) {
+                pkIndex = i;
+            }
+        }
+        this.primaryKeyIndex = pkIndex;
+    }
+
+    private static RowBatch.ColumnKind kindOf(ColumnDataGenerator generator) {
+        if (generator instanceof LongColumnGenerator) {
+            return RowBatch.ColumnKind.LONG;
+        }
+        if (generator instanceof IntColumnGenerator) {
+            return RowBatch.ColumnKind.INT;
+        }
+        if (generator instanceof TimestampColumnGenerator) {
+            return RowBatch.ColumnKind.TIMESTAMP;
+        }
+        return RowBatch.ColumnKind.OBJECT;
+    }
+
+    /**
+     * Compiles the generation plan for a table.
+     *
+     * @param metadata Table metadata containing column information
+     * @return Plan with one resolved generator per column, in column order
+     */
+    public static RowPlan compile(TableMetadata metadata) {
+        return new RowPlan(metadata);
+    }
+
+    /**
+     * Creates an empty batch laid out for this plan's table, with primitive storage for columns whose
+     * generators produce unboxed values.
+     *
+     * @param capacity Maximum number of rows the batch holds
+     */
+    public RowBatch newBatch(int capacity) {
+        return new RowBatch(metadata, capacity, kinds);
+    }
+
+    /**
+     * Replaces the batch contents with n freshly generated rows, filling one column at a time.
+     *
+     * @param batch Batch created by {@link #newBatch(int)}
+     * @param n Number of rows to generate, at most the batch capacity
+     */
+    public void fill(RowBatch batch, int n) {
+        fill(batch, n, RandomStreams.UNSEEDED, 0, null);
+    }
+
+    /**
+     * Replaces the batch contents with one chunk of freshly generated rows, each column drawn from its own
+     * stream of the chunk, so a seeded chunk comes out the same wherever and whenever it is generated.
+     *
+     * @param batch Batch created by {@link #newBatch(int)}
+     * @param n Number of rows to generate, at most the batch capacity
+     * @param streams Sources of randomness of the table
+     * @param chunk Number of the chunk, from {@link RandomStreams#claimChunk()}
+     * @param columnTimers Timer per column recording the time spent on it, e.g. from {@link #generatorName(int)},
+     *                     or null
+     */
+    public void fill(RowBatch batch, int n, RandomStreams streams, long chunk, Timer[] columnTimers) {
+        for (int c = 0; c < generators.length; c++) {
+            long start = System.nanoTime();
+            fillColumn(batch, c, 0, n, streams.forColumn(chunk, c));
+            if (columnTimers != null) {
+                columnTimers[c].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        batch.setSize(n);
+        batch.setRandom(streams.forRows(chunk));
+    }
+
+    /**
+     * Name of the generator resolved for a column, e.g. {@code VarcharGenerator}.
+     */
+    public String generatorName(int column) {
+        return generators[column].getClass().getSimpleName();
+    }
+
+    /**
+     * Generates a new primary key value for one row of the batch, e.g. after it collided with an existing key.
+     * Draws from the batch's row stream, so replacements are as reproducible as the chunk.
+     */
+    public void regeneratePrimaryKey(RowBatch batch, int row) {
+        if (primaryKeyIndex >= 0) {
+            fillColumn(batch, primaryKeyIndex, row, row + 1, batch.random());
+        }
+    }
+
+    /**
+     * Primary key value of a row, or null when the table has no primary key.
+     */
+    public Object primaryKey(RowBatch batch, int row) {
+        return primaryKeyIndex >= 0 ? batch.get(row, primaryKeyIndex) : null;
+    }
+
+    /**
+     * Overwrites the integer primary key of one row of the batch.
+     */
+    void setPrimaryKey(RowBatch batch, int row, long value) {
+        switch (kinds[primaryKeyIndex]) {
+            case INT -> batch.intColumn(primaryKeyIndex)[row] = (int) value;
+            case LONG -> batch.longColumn(primaryKeyIndex)[row] = value;
+            default -> batch.objectColumn(primaryKeyIndex)[row] = value;
+        }
+    }
+
+    /**
+     * Position of the first primary key column, or -1 when the table has none.
+     */
+    int getPrimaryKeyIndex() {
+        return primaryKeyIndex;
+    }
+
+    /**
+     * Storage of a column in the batches created by this plan.
+     */
+    RowBatch.ColumnKind getColumnKind(int column) {
+        return kinds[column];
+    }
+
+    private void fillColumn(RowBatch batch, int column, int from, int to, RandomGenerator random) {
+        switch (kinds[column]) {
+            case INT -> ((IntColumnGenerator) generators[column]).fill(batch.intColumn(column), from, to, random);
+            case LONG -> ((LongColumnGenerator) generators[column]).fill(batch.longColumn(column), from, to, random);
+            case TIMESTAMP -> ((TimestampColumnGenerator) generators[column])
+                    .fill(batch.longColumn(column), from, to, random);
+            default -> generators[column].fill(batch.objectColumn(column), from, to, random);
+        }
+    }
+
+    public TableMetadata getMetadata() {
+        return metadata;
+    }
+
+    public int getColumnCount() {
+        return generators.length;
+    }
+
+    /**
+     * Name of the first primary key column, or null when the table has none.
+     */
+    public String getPrimaryKeyColumn() {
+        return primaryKeyIndex >= 0 ? columnNames[primaryKeyIndex] : null;
+    }
+}
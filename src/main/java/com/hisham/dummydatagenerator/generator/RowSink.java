@@ -0,0 +1,12 @@
+package com.hisham.dummydatagenerator.generator;
+
+/**
+ * Receives generated rows batch by batch from {@link DummyDataService#streamRows}.
+ * The batch is cleared and refilled for the next chunk once this call returns, so implementations must
+ * consume or copy the rows rather than keep a reference to the batch.
+ */
+@FunctionalInterface
+public interface RowSink {
+
+    void accept(RowBatch batch) throws Exception;
+}
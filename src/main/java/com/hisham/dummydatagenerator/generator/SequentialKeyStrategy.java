@@ -0,0 +1,64 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Integer primary keys allocated as a contiguous range above the table's current maximum.
+ * Needs a single {@code SELECT MAX(pk)} up front instead of reading every existing key, and no memory per key.
+ * Chunks generated in parallel reserve their ranges in row order when they are claimed, so every row gets the
+ * same key at any number of generator threads.
+ */
+class SequentialKeyStrategy implements PrimaryKeyStrategy {
+
+    private final RowPlan plan;
+    private final long maxValue;
+    private final AtomicLong next;
+
+    /**
+     * @param plan Plan of the table whose keys are assigned
+     * @param start First key to hand out
+     * @param maxValue Largest value the key column can hold
+     */
+    SequentialKeyStrategy(RowPlan plan, long start, long maxValue) {
+        this.plan = plan;
+        this.next = new AtomicLong(start);
+        this.maxValue = maxValue;
+    }
+
+    @Override
+    public void assignKeys(RowBatch batch) {
+        if (batch.size() > 0) {
+            assignKeys(batch, reserveKeys(batch.size()));
+        }
+    }
+
+    /**
+     * Claims the next {@code rows} keys atomically.
+     *
+     * @return First key of the range
+     * @throws IllegalStateException if the key column cannot hold the range
+     */
+    @Override
+    public long reserveKeys(int rows) {
+        long first;
+        do {
+            first = next.get();
+            if (first > maxValue - (rows - 1)) {
+                throw new IllegalStateException("Primary key range of " + plan.getMetadata().getTableName()
+                        + " exhausted at " + first);
+            }
+        } while (!next.compareAndSet(first, first + rows));
+        return first;
+    }
+
+    @Override
+    public void assignKeys(RowBatch batch, long first) {
+        for (int row = 0; row < batch.size(); row++) {
+            plan.setPrimaryKey(batch, row, first + row);
+        }
+    }
+
+    long nextKey() {
+        return next.get();
+    }
+}
@@ -1,11 +1,16 @@
 package com.hisham.dummydatagenerator.generator;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
-public class SmallIntGenerator implements ColumnDataGenerator {
+public class SmallIntGenerator implements IntColumnGenerator {
     @Override
-    public Object generate() {
-        return (short) ThreadLocalRandom.current().nextInt(-32768, 32767);
+    public int generateInt(RandomGenerator random) {
+        return random.nextInt(-32768, 32767);
+    }
+
+    @Override
+    public Object generate(RandomGenerator random) {
+        return (short) generateInt(random);
     }
 }
 
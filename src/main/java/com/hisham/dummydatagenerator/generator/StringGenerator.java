@@ -1,10 +1,11 @@
 package com.hisham.dummydatagenerator.generator;
 
 import java.util.UUID;
+import java.util.random.RandomGenerator;
 
 public class StringGenerator implements ColumnDataGenerator {
     @Override
-    public Object generate() {
-        return "name_" + UUID.randomUUID().toString().substring(0, 8);
+    public Object generate(RandomGenerator random) {
+        return "name_" + new UUID(random.nextLong(), random.nextLong()).toString().substring(0, 8);
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.hisham.dummydatagenerator.generator;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator of timestamps that can produce them as microseconds since the epoch in UTC, without building
+ * date-time objects. {@link RowPlan} stores the output of these generators in a primitive
+ * {@link RowBatch.ColumnKind#TIMESTAMP} column, which sinks read with {@link RowBatch#getEpochMicros}
+ * or as {@link java.time.OffsetDateTime}s through {@link RowBatch#get}.
+ */
+public interface TimestampColumnGenerator extends ColumnDataGenerator {
+
+    /**
+     * Generates a timestamp as microseconds since 1970-01-01T00:00Z.
+     *
+     * @param random Source of randomness
+     * @return Generated value
+     */
+    long generateEpochMicros(RandomGenerator random);
+
+    default long generateEpochMicros() {
+        return generateEpochMicros(ThreadLocalRandom.current());
+    }
+
+    @Override
+    default Object generate(RandomGenerator random) {
+        return TimestampGenerator.toOffsetDateTime(generateEpochMicros(random));
+    }
+
+    /**
+     * Generates values into a range of a primitive array.
+     *
+     * @param out Destination array
+     * @param from First index to fill, inclusive
+     * @param to Last index to fill, exclusive
+     * @param random Source of randomness
+     */
+    default void fill(long[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = generateEpochMicros(random);
+        }
+    }
+
+    default void fill(long[] out, int from, int to) {
+        fill(out, from, to, ThreadLocalRandom.current());
+    }
+}
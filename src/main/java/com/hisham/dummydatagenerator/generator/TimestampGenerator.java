@@ -1,14 +1,115 @@
 package com.hisham.dummydatagenerator.generator;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.concurrent.ThreadLocalRandom;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 
-public class TimestampGenerator implements ColumnDataGenerator {
+/**
+ * Timestamps drawn from an {@link EpochRange} of microseconds since the epoch.
+ * The bounds are computed up front, so generating a value is arithmetic on longs. The default generator covers
+ * the days before today and moves its range along when the day changes, so row plans cached for the life of the
+ * application keep generating recent timestamps.
+ */
+public class TimestampGenerator implements TimestampColumnGenerator {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int DEFAULT_DAYS = 365;
+
+    /** Clock of a range that follows the current day, null for a fixed range */
+    private final Clock clock;
+    private final int days;
+    private volatile Window window;
+
+    /**
+     * A range together with the UTC day it ends on.
+     */
+    private record Window(long epochDay, EpochRange range) {
+    }
+
+    /**
+     * Timestamps spread uniformly over the year before the current day (UTC).
+     */
+    public TimestampGenerator() {
+        this(Clock.systemUTC(), DEFAULT_DAYS);
+    }
+
+    /**
+     * @param range Range of microseconds since the epoch
+     */
+    public TimestampGenerator(EpochRange range) {
+        this.clock = null;
+        this.days = 0;
+        this.window = new Window(0, range);
+    }
+
+    /**
+     * Timestamps spread uniformly over the given number of whole days before the current day of the clock.
+     */
+    TimestampGenerator(Clock clock, int days) {
+        this.clock = clock;
+        this.days = days;
+        this.window = windowOf(clock.instant());
+    }
+
+    /**
+     * Uniform range over the given number of whole days before today (UTC). The range ends at midnight rather
+     * than now, so a seeded load regenerates the same timestamps when it is repeated on the same day.
+     */
+    public static EpochRange lastDays(int days) {
+        return lastDays(Instant.now(), days);
+    }
+
+    private static EpochRange lastDays(Instant now, int days) {
+        long today = toEpochMicros(now.truncatedTo(ChronoUnit.DAYS));
+        return EpochRange.uniform(today - TimeUnit.DAYS.toMicros(days), today);
+    }
+
+    private Window windowOf(Instant now) {
+        return new Window(Math.floorDiv(now.getEpochSecond(), TimeUnit.DAYS.toSeconds(1)), lastDays(now, days));
+    }
+
+    /**
+     * The current range, moved to the current day first if the day changed.
+     */
+    private EpochRange range() {
+        Window current = window;
+        if (clock != null) {
+            Instant now = clock.instant();
+            if (Math.floorDiv(now.getEpochSecond(), TimeUnit.DAYS.toSeconds(1)) != current.epochDay()) {
+                current = windowOf(now);
+                window = current;
+            }
+        }
+        return current.range();
+    }
 
     @Override
-    public Object generate() {
-        return OffsetDateTime.now(ZoneOffset.UTC).minusDays(ThreadLocalRandom.current().nextInt(0, 365));
+    public long generateEpochMicros(RandomGenerator random) {
+        return range().next(random);
     }
-}
 
+    @Override
+    public void fill(long[] out, int from, int to, RandomGenerator random) {
+        range().fill(out, from, to, random);
+    }
+
+    /**
+     * Converts microseconds since the epoch to a UTC date-time.
+     */
+    public static OffsetDateTime toOffsetDateTime(long epochMicros) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochMicros, MICROS_PER_SECOND),
+                Math.floorMod(epochMicros, MICROS_PER_SECOND) * 1_000L);
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts an instant to microseconds since the epoch, dropping anything finer.
+     */
+    public static long toEpochMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
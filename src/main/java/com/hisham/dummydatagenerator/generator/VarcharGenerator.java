@@ -1,19 +1,111 @@
 package com.hisham.dummydatagenerator.generator;
 
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * Random strings for character columns, drawn from an alphabet with lengths up to the column size.
+ *
+ * Characters are written into a per-thread buffer, eight characters per random long, so the only allocation per
+ * value is the resulting string.
+ */
 public class VarcharGenerator implements ColumnDataGenerator {
+
+    /** Letters and digits */
+    public static final String DEFAULT_ALPHABET =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    /** Columns wider than this get {@link LengthDistribution#SKEWED} lengths by default */
+    static final int WIDE_COLUMN_THRESHOLD = 1024;
+
+    /** Mean length of {@link LengthDistribution#SKEWED} strings */
+    static final int SKEWED_MEAN_LENGTH = 64;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
+    /**
+     * How string lengths are spread between the minimum and maximum length.
+     */
+    public enum LengthDistribution {
+        /** Every length equally likely */
+        UNIFORM,
+        /**
+         * Exponentially distributed, 64 characters above the minimum on average and capped at the maximum,
+         * like free text where most values are short and a few are long
+         */
+        SKEWED
+    }
+
+    private final int minLength;
     private final int maxLength;
+    private final char[] alphabet;
+    private final LengthDistribution distribution;
 
+    /**
+     * Strings of letters and digits, uniformly 1 to maxLength characters long for ordinary columns and
+     * {@link LengthDistribution#SKEWED} for wide ones such as {@code text}.
+     *
+     * @param maxLength Column size
+     */
     public VarcharGenerator(int maxLength) {
-        this.maxLength = maxLength;
+        this(1, maxLength, DEFAULT_ALPHABET,
+                maxLength > WIDE_COLUMN_THRESHOLD ? LengthDistribution.SKEWED : LengthDistribution.UNIFORM);
+    }
+
+    /**
+     * @param minLength Shortest string, at least 1
+     * @param maxLength Longest string, e.g. the column size
+     * @param alphabet Characters to draw from, 1 to 256 of them
+     * @param distribution How lengths are spread between minLength and maxLength
+     */
+    public VarcharGenerator(int minLength, int maxLength, String alphabet, LengthDistribution distribution) {
+        if (alphabet.isEmpty() || alphabet.length() > 256) {
+            throw new IllegalArgumentException("alphabet must have 1 to 256 characters");
+        }
+        this.minLength = Math.max(1, minLength);
+        this.maxLength = Math.max(this.minLength, maxLength);
+        this.alphabet = alphabet.toCharArray();
+        this.distribution = distribution;
+    }
+
+    @Override
+    public Object generate(RandomGenerator random) {
+        return next(random);
     }
 
     @Override
-    public Object generate() {
-        String base = "val_" + UUID.randomUUID().toString().replace("-", "");
-        return base.substring(0, Math.min(base.length(), ThreadLocalRandom.current().nextInt(1,
-                maxLength+1)));
+    public void fill(Object[] out, int from, int to, RandomGenerator random) {
+        for (int i = from; i < to; i++) {
+            out[i] = next(random);
+        }
+    }
+
+    private String next(RandomGenerator random) {
+        int length = nextLength(random);
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        int size = alphabet.length;
+        for (int i = 0; i < length; i += 8) {
+            long bits = random.nextLong();
+            int end = Math.min(length, i + 8);
+            for (int j = i; j < end; j++) {
+                buffer[j] = alphabet[(int) ((bits & 0xFF) * size >>> 8)];
+                bits >>>= 8;
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    private int nextLength(RandomGenerator random) {
+        if (minLength == maxLength) {
+            return minLength;
+        }
+        if (distribution == LengthDistribution.SKEWED) {
+            double length = minLength - SKEWED_MEAN_LENGTH * Math.log(1.0 - random.nextDouble());
+            return (int) Math.min(length, maxLength);
+        }
+        return random.nextInt(minLength, maxLength + 1);
     }
 }
@@ -0,0 +1,189 @@
+package com.hisham.dummydatagenerator.job;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A data load submitted to the {@link JobService} and run on one of its workers.
+ * Tracks how many rows have been written so far, from which the write rate and remaining time are derived.
+ */
+public class GenerationJob implements ProgressTracker {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String description;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong rowsDone = new AtomicLong();
+
+    private volatile long totalRows;
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long startNanos;
+    private volatile long finishNanos;
+    private volatile Object result;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    GenerationJob(String description, long totalRows) {
+        this.description = description;
+        this.totalRows = totalRows;
+    }
+
+    @Override
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    @Override
+    public void addRows(long rows) {
+        rowsDone.addAndGet(rows);
+    }
+
+    @Override
+    public void checkCancelled() {
+        if (cancelRequested || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Job " + id + " was cancelled");
+        }
+    }
+
+    /**
+     * Rows written per second since the job started, or 0 before it starts.
+     */
+    public double getRowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        long end = state.isFinished() ? finishNanos : System.nanoTime();
+        long elapsed = end - startNanos;
+        return elapsed > 0 ? rowsDone.get() * 1_000_000_000.0 / elapsed : 0;
+    }
+
+    /**
+     * Estimated seconds until the job finishes at its current rate, or null if it cannot be estimated.
+     */
+    public Long getEtaSeconds() {
+        if (state != State.RUNNING || totalRows <= 0) {
+            return null;
+        }
+        double rate = getRowsPerSecond();
+        if (rate <= 0) {
+            return null;
+        }
+        return Math.round(Math.max(0, totalRows - rowsDone.get()) / rate);
+    }
+
+    synchronized boolean markRunning() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        startNanos = System.nanoTime();
+        startedAt = Instant.now();
+        state = State.RUNNING;
+        return true;
+    }
+
+    synchronized void markSucceeded(Object result) {
+        this.result = result;
+        finish(State.SUCCEEDED);
+    }
+
+    synchronized void markFailed(Throwable error) {
+        this.error = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        finish(State.FAILED);
+    }
+
+    synchronized void markCancelled() {
+        finish(State.CANCELLED);
+    }
+
+    /**
+     * Asks the job to stop. A queued job is cancelled right away; a running job stops at its next chunk.
+     *
+     * @return false if the job had already finished
+     */
+    synchronized boolean cancel() {
+        if (state.isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (future != null) {
+            future.cancel(true);
+        }
+        if (state == State.QUEUED) {
+            markCancelled();
+        }
+        return true;
+    }
+
+    private void finish(State finalState) {
+        if (state.isFinished()) {
+            return;
+        }
+        if (startedAt == null) {
+            startNanos = System.nanoTime();
+        }
+        finishNanos = System.nanoTime();
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRowsDone() {
+        return rowsDone.get();
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,152 @@
+package com.hisham.dummydatagenerator.job;
+
+import com.hisham.dummydatagenerator.config.JobProperties;
+import com.hisham.dummydatagenerator.config.LoadThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs data loads in the background on a bounded pool of worker threads.
+ * Submitting returns immediately with a {@link GenerationJob} whose progress can be polled, so long loads
+ * neither time out HTTP clients nor hold request threads. At most
+ * {@link JobProperties#getWorkerThreads()} jobs run at once and {@link JobProperties#getQueueCapacity()} wait;
+ * further submissions are rejected rather than queued without bound.
+ * Workers are virtual threads when {@link LoadThreads} is in virtual mode, so the number of concurrent jobs can
+ * be raised far beyond the number of platform threads the JVM could afford.
+ */
+@Service
+public class JobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    private final JobProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    public JobService(JobProperties properties) {
+        this(properties, LoadThreads.PLATFORM);
+    }
+
+    @Autowired
+    public JobService(JobProperties properties, LoadThreads threads) {
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                threads.factory("ddg-job-"), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Submits a load to run in the background.
+     *
+     * @param description Human readable summary of the load, e.g. the target table
+     * @param totalRows Number of rows the load is expected to write, or 0 if not known yet
+     * @param task The load itself
+     * @return The queued job
+     * @throws RejectedExecutionException if the queue of waiting jobs is full
+     */
+    public GenerationJob submit(String description, long totalRows, JobTask task) {
+        GenerationJob job = new GenerationJob(description, totalRows);
+        FutureTask<Void> future = new FutureTask<>(() -> run(job, task), null);
+        job.setFuture(future);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        logger.info("Submitted job {}: {}", job.getId(), description);
+        return job;
+    }
+
+    private static void run(GenerationJob job, JobTask task) {
+        if (!job.markRunning()) {
+            return;
+        }
+        logger.info("Started job {}", job.getId());
+        try {
+            job.markSucceeded(task.run(job));
+            logger.info("Finished job {}: {} rows ({} rows/sec)", job.getId(), job.getRowsDone(),
+                    Math.round(job.getRowsPerSecond()));
+        } catch (Exception e) {
+            if (e instanceof CancellationException || job.isCancelRequested()) {
+                job.markCancelled();
+                logger.info("Cancelled job {} after {} rows", job.getId(), job.getRowsDone());
+            } else {
+                job.markFailed(e);
+                logger.error("Job {} failed", job.getId(), e);
+            }
+        } catch (Error e) {
+            // Still finish the job, so it does not stay RUNNING and escape eviction
+            job.markFailed(e);
+            logger.error("Job {} failed", job.getId(), e);
+            throw e;
+        }
+    }
+
+    public Optional<GenerationJob> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * All known jobs, most recently submitted first.
+     */
+    public List<GenerationJob> list() {
+        List<GenerationJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparing(GenerationJob::getSubmittedAt).reversed());
+        return all;
+    }
+
+    /**
+     * Cancels a job. A queued job never starts; a running job stops at its next chunk and rolls back
+     * the transaction in progress.
+     *
+     * @return The job, or empty if no job has the id
+     */
+    public Optional<GenerationJob> cancel(String id) {
+        GenerationJob job = jobs.get(id);
+        if (job != null && job.cancel()) {
+            logger.info("Cancellation requested for job {}", id);
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * Forgets finished jobs older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${dummy.generator.jobs.eviction-interval:60000}")
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        Collection<GenerationJob> all = jobs.values();
+        all.removeIf(job -> job.getState().isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Stops all workers on application shutdown, interrupting running jobs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(GenerationJob::cancel);
+        executor.shutdownNow();
+    }
+}
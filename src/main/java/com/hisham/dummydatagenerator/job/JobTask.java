@@ -0,0 +1,17 @@
+package com.hisham.dummydatagenerator.job;
+
+/**
+ * The work of a {@link GenerationJob}.
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    /**
+     * Runs the load, reporting progress to the tracker and checking it for cancellation between chunks.
+     *
+     * @param progress Tracker of the job running the task
+     * @return Result reported by the job once it succeeds, e.g. the endpoint's synchronous response
+     * @throws Exception if the load fails
+     */
+    Object run(ProgressTracker progress) throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.hisham.dummydatagenerator.job;
+
+/**
+ * Receives progress from a running load and tells it when to stop.
+ * Loads run synchronously use {@link #NONE}; loads run as a {@link GenerationJob} report to the job.
+ */
+public interface ProgressTracker {
+
+    /** Tracker for loads that are not run as a job */
+    ProgressTracker NONE = new ProgressTracker() {
+        @Override
+        public void setTotalRows(long totalRows) {
+        }
+
+        @Override
+        public void addRows(long rows) {
+        }
+
+        @Override
+        public void checkCancelled() {
+        }
+    };
+
+    /**
+     * Sets the number of rows the load is expected to write, once it is known.
+     */
+    void setTotalRows(long totalRows);
+
+    /**
+     * Records rows that have been written.
+     */
+    void addRows(long rows);
+
+    /**
+     * Called between chunks; stops the load if it was cancelled.
+     *
+     * @throws java.util.concurrent.CancellationException if the load should stop
+     */
+    void checkCancelled();
+}
@@ -0,0 +1,154 @@
+package com.hisham.dummydatagenerator.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Meters recorded along the load path, from row generation to the database or Kafka sinks.
+ *
+ * Meters are registered on Micrometer's global registry, which Spring Boot binds to the actuator registries
+ * (Prometheus at {@code /actuator/prometheus}). The generators and writers are plain objects created per load,
+ * so they look their meters up here instead of having a registry injected; outside Spring, e.g. in unit tests
+ * and benchmarks, the global registry has no backends and every meter is a no-op.
+ *
+ * Callers on hot paths resolve a meter once per load or chunk and keep it, rather than per row.
+ */
+public final class LoadMetrics {
+
+    /** Rows generated, tagged by table; its rate is rows generated per second */
+    public static final String ROWS_GENERATED = "ddg.rows.generated";
+    /** Time spent filling one column of a chunk, tagged by generator */
+    public static final String GENERATOR_FILL = "ddg.generator.fill";
+    /** Latency of one round trip of a database writer, tagged by writer */
+    public static final String JDBC_BATCH = "ddg.jdbc.batch";
+    /** Time a Kafka send blocks the generation thread, including waiting for room in the in-flight window */
+    public static final String KAFKA_SEND = "ddg.kafka.send";
+    /** Time from handing a record to the producer until the broker acknowledges it */
+    public static final String KAFKA_ACK = "ddg.kafka.ack";
+    /** Rows delivered to Kafka, tagged by topic and outcome */
+    public static final String KAFKA_ROWS = "ddg.kafka.rows";
+    /** Primary keys held in memory to keep generated keys unique, tagged by table */
+    public static final String PRIMARY_KEYS = "ddg.primary.keys";
+    /** Generated chunks waiting for the writer of a table */
+    public static final String PIPELINE_QUEUE_DEPTH = "ddg.pipeline.queue.depth";
+    /** Time generation was paused for a free buffer because the writer fell behind, tagged by table */
+    public static final String PIPELINE_PRODUCER_WAIT = "ddg.pipeline.producer.wait";
+    /** Time the writer waited for the next generated chunk, tagged by table */
+    public static final String PIPELINE_CONSUMER_WAIT = "ddg.pipeline.consumer.wait";
+
+    private static final Map<String, AtomicLong> primaryKeyCounts = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+
+    private LoadMetrics() {
+    }
+
+    private static MeterRegistry registry() {
+        return Metrics.globalRegistry;
+    }
+
+    public static Counter rowsGenerated(String table) {
+        return Counter.builder(ROWS_GENERATED)
+                .description("Rows generated")
+                .baseUnit("rows")
+                .tag("table", table)
+                .register(registry());
+    }
+
+    public static Timer generatorFill(String generator) {
+        return Timer.builder(GENERATOR_FILL)
+                .description("Time spent generating one column of a chunk")
+                .tag("generator", generator)
+                .register(registry());
+    }
+
+    /**
+     * @param writer Kind of writer, e.g. {@code insert}, {@code copy} or {@code bulk_copy}
+     */
+    public static Timer jdbcBatch(String writer) {
+        return Timer.builder(JDBC_BATCH)
+                .description("Latency of one batch sent to the target database")
+                .tag("writer", writer)
+                .publishPercentileHistogram()
+                .register(registry());
+    }
+
+    public static Timer kafkaSend(String topic) {
+        return Timer.builder(KAFKA_SEND)
+                .description("Time a Kafka send blocks the generating thread")
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .register(registry());
+    }
+
+    public static Timer kafkaAck(String topic) {
+        return Timer.builder(KAFKA_ACK)
+                .description("Time from send until the broker acknowledges a record")
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .register(registry());
+    }
+
+    /**
+     * @param outcome {@code acked} or {@code failed}
+     */
+    public static Counter kafkaRows(String topic, String outcome) {
+        return Counter.builder(KAFKA_ROWS)
+                .description("Rows delivered to Kafka")
+                .baseUnit("rows")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(registry());
+    }
+
+    /**
+     * Publishes the number of primary keys currently held for a table.
+     * The gauge keeps its last value once the load ends, until the next load of the table replaces it.
+     */
+    public static void primaryKeys(String table, long count) {
+        primaryKeyCounts.computeIfAbsent(table, t -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(PRIMARY_KEYS, value, AtomicLong::get)
+                    .description("Primary keys held in memory to keep generated keys unique")
+                    .tag("table", t)
+                    .register(registry());
+            return value;
+        }).set(count);
+    }
+
+    /**
+     * Returns the gauge value holding the number of generated chunks that wait for the writer of a table.
+     * Loads add to it as chunks are queued and subtract as they are taken, so concurrent loads of a table add up
+     * and the gauge is back at 0 once they have drained their queues.
+     */
+    public static AtomicLong pipelineQueueDepth(String table) {
+        return queueDepths.computeIfAbsent(table, t -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(PIPELINE_QUEUE_DEPTH, value, AtomicLong::get)
+                    .description("Generated chunks waiting for the writer")
+                    .tag("table", t)
+                    .register(registry());
+            return value;
+        });
+    }
+
+    public static Timer pipelineProducerWait(String table) {
+        return Timer.builder(PIPELINE_PRODUCER_WAIT)
+                .description("Time generation was paused waiting for the writer to free a buffer")
+                .tag("table", table)
+                .register(registry());
+    }
+
+    public static Timer pipelineConsumerWait(String table) {
+        return Timer.builder(PIPELINE_CONSUMER_WAIT)
+                .description("Time the writer waited for a generated chunk")
+                .tag("table", table)
+                .register(registry());
+    }
+}
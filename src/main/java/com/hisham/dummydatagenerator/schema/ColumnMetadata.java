@@ -1,5 +1,7 @@
 package com.hisham.dummydatagenerator.schema;
 
+import java.util.Objects;
+
 public class ColumnMetadata {
     private String columnName;
     private String dataType;
@@ -40,4 +42,22 @@ public class ColumnMetadata {
 
     public Integer getDecimalDigits() { return decimalDigits; }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ColumnMetadata that)) return false;
+        return nullable == that.nullable && primaryKey == that.primaryKey
+                && Objects.equals(columnName, that.columnName) && Objects.equals(dataType, that.dataType)
+                && Objects.equals(columnSize, that.columnSize) && Objects.equals(decimalDigits, that.decimalDigits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(columnName, dataType, nullable, primaryKey, columnSize, decimalDigits);
+    }
+
+    @Override
+    public String toString() {
+        return columnName + " " + dataType;
+    }
 }
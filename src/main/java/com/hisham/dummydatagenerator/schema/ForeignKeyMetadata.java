@@ -0,0 +1,65 @@
+package com.hisham.dummydatagenerator.schema;
+
+import java.util.Objects;
+
+/**
+ * One column of a foreign key: a column of the owning table and the parent column it references.
+ * Composite foreign keys are described by one entry per column sharing the same constraint name.
+ */
+public class ForeignKeyMetadata {
+    private String constraintName;
+    private String columnName;
+    private String referencedSchema;
+    private String referencedTable;
+    private String referencedColumn;
+
+    public ForeignKeyMetadata(String constraintName, String columnName, String referencedSchema,
+                              String referencedTable, String referencedColumn) {
+        this.constraintName = constraintName;
+        this.columnName = columnName;
+        this.referencedSchema = referencedSchema;
+        this.referencedTable = referencedTable;
+        this.referencedColumn = referencedColumn;
+    }
+
+    // Getters
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public String getReferencedSchema() {
+        return referencedSchema;
+    }
+
+    public String getReferencedTable() {
+        return referencedTable;
+    }
+
+    public String getReferencedColumn() {
+        return referencedColumn;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ForeignKeyMetadata that)) return false;
+        return Objects.equals(constraintName, that.constraintName) && Objects.equals(columnName, that.columnName)
+                && Objects.equals(referencedSchema, that.referencedSchema)
+                && Objects.equals(referencedTable, that.referencedTable)
+                && Objects.equals(referencedColumn, that.referencedColumn);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(constraintName, columnName, referencedSchema, referencedTable, referencedColumn);
+    }
+
+    @Override
+    public String toString() {
+        return columnName + " -> " + referencedTable + "." + referencedColumn;
+    }
+}
@@ -1,14 +1,21 @@
 package com.hisham.dummydatagenerator.schema;
 
 import java.util.List;
+import java.util.Objects;
 
 public class TableMetadata {
     private String tableName;
     private List<ColumnMetadata> columns;
+    private List<ForeignKeyMetadata> foreignKeys;
 
     public TableMetadata(String tableName, List<ColumnMetadata> columns) {
+        this(tableName, columns, List.of());
+    }
+
+    public TableMetadata(String tableName, List<ColumnMetadata> columns, List<ForeignKeyMetadata> foreignKeys) {
         this.tableName = tableName;
         this.columns = columns;
+        this.foreignKeys = foreignKeys;
     }
 
     // Getters
@@ -20,4 +27,20 @@ public class TableMetadata {
         return columns;
     }
 
+    public List<ForeignKeyMetadata> getForeignKeys() {
+        return foreignKeys;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TableMetadata that)) return false;
+        return Objects.equals(tableName, that.tableName) && Objects.equals(columns, that.columns)
+                && Objects.equals(foreignKeys, that.foreignKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tableName, columns, foreignKeys);
+    }
 }
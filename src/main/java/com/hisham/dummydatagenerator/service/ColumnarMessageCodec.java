@@ -0,0 +1,276 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.dto.TableDataMessage;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Encodes rows of one table as compact, column-major binary Kafka records.
+ * Column names and types are written once per record instead of once per row, integers are fixed-width
+ * binary instead of JSON text, and a record carries many rows.
+ *
+ * Layout, big-endian:
+ * <pre>
+ * "DDGC"  magic
+ * u8      version (1)
+ * str     schema, str table
+ * i32     row count, u16 column count
+ * per column:  str name, u8 type
+ * per column:  null bitmap of ceil(rows / 8) bytes (bit r of byte r / 8 set when row r is null),
+ *              then the non-null values of the column in row order
+ * </pre>
+ * {@code str} is written with DataOutput.writeUTF: a u16 byte length and modified UTF-8 bytes. Values by type: INT i32, LONG i64, BOOLEAN u8,
+ * DOUBLE f64, DATE i32 days since the epoch, TIMESTAMP i64 microseconds since the epoch in UTC,
+ * STRING i32 byte length and UTF-8 bytes, BYTES i32 length and bytes. Column types come from the
+ * table metadata; columns of other types are sent as their string form.
+ *
+ * An encoder reuses its buffer and is used by one writer at a time.
+ */
+public final class ColumnarMessageCodec {
+
+    static final byte[] MAGIC = {'D', 'D', 'G', 'C'};
+    static final int VERSION = 1;
+
+    /**
+     * Wire type of a column.
+     */
+    public enum ColumnType {
+        INT, LONG, BOOLEAN, DOUBLE, DATE, TIMESTAMP, STRING, BYTES
+    }
+
+    private final String schema;
+    private final String table;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    public ColumnarMessageCodec(String schema, TableMetadata metadata) {
+        List<ColumnMetadata> columns = metadata.getColumns();
+        this.schema = schema;
+        this.table = metadata.getTableName();
+        this.names = new String[columns.size()];
+        this.types = new ColumnType[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            names[c] = columns.get(c).getColumnName();
+            types[c] = typeOf(columns.get(c).getDataType());
+        }
+    }
+
+    /**
+     * Wire type for a SQL type name, matching the values DataGeneratorFactory produces for it.
+     */
+    static ColumnType typeOf(String dataType) {
+        if (dataType == null) {
+            return ColumnType.STRING;
+        }
+        return switch (dataType.toLowerCase(Locale.ROOT)) {
+            case "int2", "int4", "int", "integer", "smallint" -> ColumnType.INT;
+            case "int8", "bigint" -> ColumnType.LONG;
+            case "bool", "boolean" -> ColumnType.BOOLEAN;
+            case "float4", "float8", "real", "double precision" -> ColumnType.DOUBLE;
+            case "date" -> ColumnType.DATE;
+            case "timestamp", "timestamptz" -> ColumnType.TIMESTAMP;
+            case "bytea" -> ColumnType.BYTES;
+            default -> ColumnType.STRING;
+        };
+    }
+
+    /**
+     * Encodes the rows [from, to) of a batch into one record value.
+     */
+    public byte[] encode(RowBatch batch, int from, int to) {
+        buffer.reset();
+        try {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(schema != null ? schema : "");
+            out.writeUTF(table);
+            int rows = to - from;
+            out.writeInt(rows);
+            out.writeShort(names.length);
+            for (int c = 0; c < names.length; c++) {
+                out.writeUTF(names[c]);
+                out.writeByte(types[c].ordinal());
+            }
+            for (int c = 0; c < names.length; c++) {
+                writeColumn(batch, c, from, to);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeColumn(RowBatch batch, int column, int from, int to) throws IOException {
+        boolean integral = batch.isIntegral(column);
+        boolean micros = batch.kind(column) == RowBatch.ColumnKind.TIMESTAMP && types[column] == ColumnType.TIMESTAMP;
+        byte[] nulls = new byte[(to - from + 7) >>> 3];
+        if (!integral && !micros) {
+            for (int r = from; r < to; r++) {
+                if (batch.get(r, column) == null) {
+                    nulls[(r - from) >>> 3] |= (byte) (1 << ((r - from) & 7));
+                }
+            }
+        }
+        out.write(nulls);
+        ColumnType type = types[column];
+        for (int r = from; r < to; r++) {
+            if (integral) {
+                // Primitive columns are read without boxing
+                if (type == ColumnType.INT) {
+                    out.writeInt((int) batch.getLong(r, column));
+                } else if (type == ColumnType.LONG) {
+                    out.writeLong(batch.getLong(r, column));
+                } else {
+                    writeValue(type, batch.getLong(r, column));
+                }
+                continue;
+            }
+            if (micros) {
+                out.writeLong(batch.getEpochMicros(r, column));
+                continue;
+            }
+            Object value = batch.get(r, column);
+            if (value != null) {
+                writeValue(type, value);
+            }
+        }
+    }
+
+    private void writeValue(ColumnType type, Object value) throws IOException {
+        switch (type) {
+            case INT -> out.writeInt(((Number) value).intValue());
+            case LONG -> out.writeLong(((Number) value).longValue());
+            case BOOLEAN -> out.writeBoolean((Boolean) value);
+            case DOUBLE -> out.writeDouble(((Number) value).doubleValue());
+            case DATE -> out.writeInt((int) toLocalDate(value).toEpochDay());
+            case TIMESTAMP -> out.writeLong(toEpochMicros(value));
+            case BYTES -> {
+                byte[] bytes = (byte[]) value;
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            default -> {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        throw new IllegalArgumentException("Not a date: " + value.getClass().getName());
+    }
+
+    private static long toEpochMicros(Object value) {
+        Instant instant;
+        if (value instanceof OffsetDateTime time) {
+            instant = time.toInstant();
+        } else if (value instanceof LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        } else if (value instanceof Timestamp time) {
+            instant = time.toInstant();
+        } else if (value instanceof Instant time) {
+            instant = time;
+        } else {
+            throw new IllegalArgumentException("Not a timestamp: " + value.getClass().getName());
+        }
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    /**
+     * Decodes a record value back into one message per row, for consumers and tests.
+     * Dates decode to LocalDate and timestamps to OffsetDateTime in UTC.
+     */
+    public static List<TableDataMessage> decode(byte[] value) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            int version = in.readUnsignedByte();
+            if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+                throw new IllegalArgumentException("Not a columnar record of version " + VERSION);
+            }
+            String schema = in.readUTF();
+            String table = in.readUTF();
+            int rows = in.readInt();
+            int columnCount = in.readUnsignedShort();
+            String[] names = new String[columnCount];
+            ColumnType[] types = new ColumnType[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                names[c] = in.readUTF();
+                types[c] = ColumnType.values()[in.readUnsignedByte()];
+            }
+            List<Map<String, Object>> data = new ArrayList<>(rows);
+            for (int r = 0; r < rows; r++) {
+                data.add(new LinkedHashMap<>());
+            }
+            for (int c = 0; c < columnCount; c++) {
+                byte[] nulls = new byte[(rows + 7) >>> 3];
+                in.readFully(nulls);
+                for (int r = 0; r < rows; r++) {
+                    boolean isNull = (nulls[r >>> 3] & (1 << (r & 7))) != 0;
+                    data.get(r).put(names[c], isNull ? null : readValue(in, types[c]));
+                }
+            }
+            List<TableDataMessage> messages = new ArrayList<>(rows);
+            for (Map<String, Object> row : data) {
+                messages.add(new TableDataMessage(table, schema, row));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated columnar record", e);
+        }
+    }
+
+    private static Object readValue(DataInputStream in, ColumnType type) throws IOException {
+        return switch (type) {
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case BOOLEAN -> in.readBoolean();
+            case DOUBLE -> in.readDouble();
+            case DATE -> LocalDate.ofEpochDay(in.readInt());
+            case TIMESTAMP -> OffsetDateTime.ofInstant(Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS),
+                    ZoneOffset.UTC);
+            case BYTES -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield bytes;
+            }
+            default -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.config.KafkaConfig;
+import com.hisham.dummydatagenerator.config.KafkaProducerProperties;
+import com.hisham.dummydatagenerator.dto.KafkaProducerConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of Kafka producers for the topic loads of the /universal endpoints.
+ * Producers are keyed by the contents of the {@link KafkaProducerConfig} they were created from and reused
+ * across requests, so a load does not pay for a new producer's connections and metadata bootstrap.
+ *
+ * Producers are leased while a load sends through them. The registry holds at most
+ * {@link KafkaProducerProperties#getMaxProducers()} producers, closing the least recently used idle one beyond
+ * that, and closes producers that have not been leased for longer than the producer idle timeout.
+ */
+@Component
+public class KafkaProducerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaProducerRegistry.class);
+
+    private final KafkaProducerProperties properties;
+    private final KafkaConfig kafkaConfig;
+    private final Map<ProducerKey, ProducerEntry> producers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public KafkaProducerRegistry(KafkaProducerProperties properties) {
+        this(properties, new KafkaConfig());
+    }
+
+    /**
+     * @param kafkaConfig Creates the producers
+     */
+    public KafkaProducerRegistry(KafkaProducerProperties properties, KafkaConfig kafkaConfig) {
+        this.properties = properties;
+        this.kafkaConfig = kafkaConfig;
+    }
+
+    /**
+     * Identity of a producer: the producer settings of a {@link KafkaProducerConfig}, including the message format
+     * that selects the default value serializer, copied so later changes to the request do not change the key.
+     */
+    private record ProducerKey(String bootstrapServers, String keySerializer, String valueSerializer,
+                               KafkaProducerConfig.MessageFormat messageFormat,
+                               Map<String, String> additionalProperties) {
+
+        static ProducerKey of(KafkaProducerConfig config) {
+            if (config == null) {
+                return new ProducerKey(null, null, null, KafkaProducerConfig.MessageFormat.JSON, Map.of());
+            }
+            Map<String, String> additional = config.getAdditionalProperties() != null
+                    ? new TreeMap<>(config.getAdditionalProperties())
+                    : Map.of();
+            return new ProducerKey(config.getBootstrapServers(), config.getKeySerializer(),
+                    config.getValueSerializer(), config.getMessageFormat(), Map.copyOf(additional));
+        }
+    }
+
+    /**
+     * A producer together with the number of loads using it and when it was last leased.
+     */
+    private static class ProducerEntry {
+        private final KafkaTemplate<String, Object> template;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        ProducerEntry(KafkaTemplate<String, Object> template) {
+            this.template = template;
+        }
+    }
+
+    /**
+     * A producer handed out to one load. Closing the lease returns the producer to the registry; it stays open.
+     */
+    public static final class Lease implements AutoCloseable {
+        private final ProducerEntry entry;
+        private boolean closed;
+
+        private Lease(ProducerEntry entry) {
+            this.entry = entry;
+        }
+
+        public KafkaTemplate<String, Object> template() {
+            return entry.template;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                entry.lastAccessNanos = System.nanoTime();
+                entry.leases.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Leases the producer for the given configuration, creating it on first use.
+     * The producer is not closed while leased.
+     *
+     * @param config Producer configuration, or null for the defaults
+     * @return A lease to close once the load has finished sending
+     */
+    public Lease acquire(KafkaProducerConfig config) {
+        ProducerEntry entry = producers.compute(ProducerKey.of(config), (key, existing) -> {
+            ProducerEntry current = existing != null
+                    ? existing
+                    : new ProducerEntry(kafkaConfig.createKafkaTemplate(config));
+            current.leases.incrementAndGet();
+            current.lastAccessNanos = System.nanoTime();
+            return current;
+        });
+        enforceMaxProducers();
+        return new Lease(entry);
+    }
+
+    /**
+     * Number of producers currently open.
+     */
+    public int size() {
+        return producers.size();
+    }
+
+    /**
+     * Closes producers that have not been leased within the producer idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${dummy.generator.kafka.eviction-interval:60000}")
+    public void evictIdleProducers() {
+        long cutoff = System.nanoTime() - properties.getProducerIdleTimeout().toNanos();
+        producers.forEach((key, entry) -> {
+            if (entry.lastAccessNanos - cutoff < 0) {
+                closeIfUnused(key, entry, "idle");
+            }
+        });
+    }
+
+    private void enforceMaxProducers() {
+        while (producers.size() > properties.getMaxProducers()) {
+            Optional<Map.Entry<ProducerKey, ProducerEntry>> oldest = producers.entrySet().stream()
+                    .filter(e -> e.getValue().leases.get() == 0)
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccessNanos));
+            if (oldest.isEmpty() || !closeIfUnused(oldest.get().getKey(), oldest.get().getValue(), "over capacity")) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes and closes a producer unless a load leased it in the meantime.
+     */
+    private boolean closeIfUnused(ProducerKey key, ProducerEntry entry, String reason) {
+        boolean[] removed = new boolean[1];
+        producers.computeIfPresent(key, (k, current) -> {
+            if (current == entry && current.leases.get() == 0) {
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        if (removed[0]) {
+            close(key, entry, reason);
+        }
+        return removed[0];
+    }
+
+    private static void close(ProducerKey key, ProducerEntry entry, String reason) {
+        logger.info("Closing Kafka producer for {}: {}", key.bootstrapServers(), reason);
+        try {
+            entry.template.getProducerFactory().reset();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to close Kafka producer for {}", key.bootstrapServers(), e);
+        }
+    }
+
+    /**
+     * Flushes and closes every producer on application shutdown, including leased ones.
+     */
+    @PreDestroy
+    public void closeAll() {
+        producers.forEach((key, entry) -> {
+            if (producers.remove(key, entry)) {
+                close(key, entry, "shutdown");
+            }
+        });
+    }
+}
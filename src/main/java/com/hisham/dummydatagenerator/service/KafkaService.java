@@ -3,63 +3,215 @@
  * Manages the production and sending of messages to Kafka topics.
  *
  * This service is responsible for:
- * - Initializing Kafka configuration
- * - Creating and managing KafkaTemplate instances
- * - Sending table data to Kafka topics
- * - Handling message serialization
+ * - Leasing producers from the {@link KafkaProducerRegistry}
+ * - Sending table data to Kafka topics through {@link RowWriter}s
+ * - Tracking the delivery of what was sent, with send and acknowledgement latency in {@link LoadMetrics}
  *
  * @author Hisham
  */
 package com.hisham.dummydatagenerator.service;
 
-import com.hisham.dummydatagenerator.config.KafkaConfig;
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import com.hisham.dummydatagenerator.connectors.RowWriter;
 import com.hisham.dummydatagenerator.dto.KafkaProducerConfig;
 import com.hisham.dummydatagenerator.dto.TableDataMessage;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
 
-import java.util.List;
-import java.util.Map;
-
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service for Kafka operations.
  * Handles the production and sending of messages to Kafka topics.
  */
+@Service
 public class KafkaService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaService.class);
 
-    private final KafkaConfig kafkaConfig;
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    /** How long finishing a writer waits for acknowledgements after flushing the producer */
+    private static final long ACK_TIMEOUT_SECONDS = 120;
 
-    /**
-     * Constructs a new KafkaService instance.
-     * Initializes the Kafka configuration.
-     */
-    public KafkaService() {
-        this.kafkaConfig = new KafkaConfig();
+    private final KafkaProducerRegistry producers;
+
+    public KafkaService(KafkaProducerRegistry producers) {
+        this.producers = producers;
     }
 
     /**
-     * Sends table data to a specified Kafka topic.
-     * Creates a KafkaTemplate if not already initialized and sends each row as a message.
+     * Opens a writer that sends each chunk of rows it receives to a Kafka topic.
+     * Lets the streaming generation pipeline feed Kafka the same way it feeds a database.
+     *
+     * Rows are sent as one JSON {@link TableDataMessage} per record, or with the COLUMNAR message format as
+     * binary records of {@link KafkaProducerConfig#getRowsPerRecord()} rows each, see {@link ColumnarMessageCodec}.
+     * Records are sent asynchronously and their delivery is tracked through callbacks. At most
+     * {@link KafkaProducerConfig#getMaxInFlightRecords()} records are unacknowledged at a time; further sends
+     * wait for the broker. Finishing the writer flushes the producer and waits for every acknowledgement,
+     * so its statistics count the rows the broker acknowledged. The producer is leased until the writer is closed.
      *
      * @param topic The Kafka topic to send messages to
      * @param tableName The name of the table whose data is being sent
      * @param schema The database schema name
-     * @param rows List of row data to be sent
+     * @param metadata Table the rows belong to
      * @param producerConfig Configuration for the Kafka producer
+     * @return A writer for the topic
+     * @throws IllegalStateException from write or finish once a record could not be delivered
      */
-    public void sendTableData(String topic, String tableName, String schema, List<Map<String, Object>> rows, KafkaProducerConfig producerConfig) {
-        if (kafkaTemplate == null) {
-            kafkaTemplate = kafkaConfig.createKafkaTemplate(producerConfig);
+    public RowWriter openWriter(String topic, String tableName, String schema, TableMetadata metadata,
+                                KafkaProducerConfig producerConfig) {
+        KafkaProducerConfig config = producerConfig != null ? producerConfig : new KafkaProducerConfig();
+        ColumnarMessageCodec codec = config.getMessageFormat() == KafkaProducerConfig.MessageFormat.COLUMNAR
+                ? new ColumnarMessageCodec(schema, metadata)
+                : null;
+        return new TopicWriter(producers.acquire(producerConfig), topic, tableName, schema,
+                config.getMaxInFlightRecords(), codec, config.getRowsPerRecord());
+    }
+
+    /**
+     * Sends rows to one topic, tracking their delivery.
+     */
+    private static final class TopicWriter implements RowWriter {
+        private final KafkaProducerRegistry.Lease lease;
+        private final KafkaTemplate<String, Object> template;
+        private final String topic;
+        private final String tableName;
+        private final String schema;
+        private final int windowSize;
+        private final Semaphore window;
+        /** Encodes COLUMNAR records, null for JSON */
+        private final ColumnarMessageCodec codec;
+        private final int rowsPerRecord;
+        private final AtomicLong rowsAcked = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        private final Timer sendLatency;
+        private final Timer ackLatency;
+        private final Counter rowsAckedCounter;
+        private final Counter rowsFailedCounter;
+        private final long startNanos = System.nanoTime();
+        private long rowsSent;
+        private long chunks;
+
+        TopicWriter(KafkaProducerRegistry.Lease lease, String topic, String tableName, String schema,
+                    int windowSize, ColumnarMessageCodec codec, int rowsPerRecord) {
+            this.lease = lease;
+            this.codec = codec;
+            this.rowsPerRecord = rowsPerRecord;
+            this.template = lease.template();
+            this.topic = topic;
+            this.tableName = tableName;
+            this.schema = schema;
+            this.windowSize = windowSize;
+            this.window = new Semaphore(windowSize);
+            this.sendLatency = LoadMetrics.kafkaSend(topic);
+            this.ackLatency = LoadMetrics.kafkaAck(topic);
+            this.rowsAckedCounter = LoadMetrics.kafkaRows(topic, "acked");
+            this.rowsFailedCounter = LoadMetrics.kafkaRows(topic, "failed");
+        }
+
+        @Override
+        public void write(RowBatch rows) {
+            throwIfFailed();
+            if (codec != null) {
+                for (int from = 0; from < rows.size(); from += rowsPerRecord) {
+                    int to = Math.min(rows.size(), from + rowsPerRecord);
+                    send(codec.encode(rows, from, to), to - from);
+                }
+            } else {
+                for (int r = 0; r < rows.size(); r++) {
+                    send(new TableDataMessage(tableName, schema, rows.rowView(r)), 1);
+                }
+            }
+            rowsSent += rows.size();
+            chunks++;
+            logger.debug("Sent {} rows of {}.{} to {}, {} acknowledged", rowsSent, schema, tableName, topic,
+                    rowsAcked.get());
+        }
+
+        /**
+         * Sends one record once the in-flight window has room, counting its rows when it is acknowledged.
+         */
+        private void send(Object value, int rowCount) {
+            long start = System.nanoTime();
+            acquire();
+            CompletableFuture<SendResult<String, Object>> sent;
+            try {
+                sent = template.send(topic, tableName, value);
+            } catch (RuntimeException e) {
+                window.release();
+                throw e;
+            }
+            long handedOver = System.nanoTime();
+            sendLatency.record(handedOver - start, TimeUnit.NANOSECONDS);
+            sent.whenComplete((result, failure) -> {
+                if (failure == null) {
+                    ackLatency.record(System.nanoTime() - handedOver, TimeUnit.NANOSECONDS);
+                    rowsAcked.addAndGet(rowCount);
+                    rowsAckedCounter.increment(rowCount);
+                } else {
+                    rowsFailed.addAndGet(rowCount);
+                    rowsFailedCounter.increment(rowCount);
+                    firstFailure.compareAndSet(null, failure);
+                }
+                window.release();
+            });
+        }
+
+        @Override
+        public InsertStats finish() {
+            if (rowsSent > 0) {
+                template.flush();
+                try {
+                    if (!window.tryAcquire(windowSize, ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Timed out waiting for Kafka to acknowledge "
+                                + (rowsSent - rowsAcked.get() - rowsFailed.get()) + " rows of " + tableName);
+                    }
+                    window.release(windowSize);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Interrupted while waiting for Kafka acknowledgements");
+                }
+            }
+            throwIfFailed();
+            InsertStats stats = new InsertStats(rowsAcked.get(), chunks, System.nanoTime() - startNanos);
+            logger.info("Kafka topic {} acknowledged {} rows of {}.{} ({} rows/sec)", topic, stats.getRows(),
+                    schema, tableName, Math.round(stats.getRowsPerSecond()));
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            lease.close();
+        }
+
+        private void acquire() {
+            try {
+                window.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for Kafka acknowledgements");
+            }
         }
 
-        for (Map<String, Object> row : rows) {
-            TableDataMessage message = new TableDataMessage(tableName, schema, row);
-            logger.info("Sending data to Kafka for table {}.{}", schema, tableName);
-            kafkaTemplate.send(topic, tableName, message);
+        private void throwIfFailed() {
+            Throwable failure = firstFailure.get();
+            if (failure != null) {
+                throw new IllegalStateException(rowsFailed.get() + " of " + rowsSent + " rows of " + tableName
+                        + " were not delivered to " + topic + ": " + failure.getMessage(), failure);
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,286 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.config.LoadThreads;
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads several tables concurrently.
+ * Up to parallelism tables are loaded at once, and each load also holds a permit of the target database's
+ * connection budget, so concurrent multi-table loads against the same database together stay within it.
+ * Tables load on platform or virtual threads as chosen by {@link LoadThreads}; with virtual threads a large
+ * parallelism costs no platform threads, and the connection budget is what bounds the load.
+ *
+ * Tables can depend on other tables, for example children on the parents their foreign keys reference,
+ * and are then only started once those are loaded.
+ *
+ * A failing table is reported in its result and does not stop the others, except the tables depending on it;
+ * a cancellation stops them all.
+ */
+public class ParallelTableLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelTableLoader.class);
+    private static final AtomicInteger loaderIds = new AtomicInteger();
+
+    /**
+     * Loads a single table.
+     */
+    @FunctionalInterface
+    public interface TableLoad {
+        InsertStats load(String table) throws Exception;
+    }
+
+    private final int parallelism;
+    private final Semaphore connectionBudget;
+    private final LoadThreads threads;
+
+    /**
+     * @param parallelism Maximum number of tables loaded at once
+     * @param connectionBudget Permits shared by every load against the same target database
+     */
+    public ParallelTableLoader(int parallelism, Semaphore connectionBudget) {
+        this(parallelism, connectionBudget, LoadThreads.PLATFORM);
+    }
+
+    /**
+     * @param parallelism Maximum number of tables loaded at once
+     * @param connectionBudget Permits shared by every load against the same target database
+     * @param threads Kind of threads the tables are loaded on
+     */
+    public ParallelTableLoader(int parallelism, Semaphore connectionBudget, LoadThreads threads) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.connectionBudget = connectionBudget;
+        this.threads = threads;
+    }
+
+    /**
+     * Loads every table and waits for all of them.
+     *
+     * @param tables Tables to load
+     * @param load Loads one table
+     * @return One result per table, in the order of tables
+     * @throws CancellationException if a load was cancelled or the calling thread was interrupted
+     */
+    public List<TableLoadResult> loadAll(List<String> tables, TableLoad load) {
+        return loadAll(tables, Map.of(), load);
+    }
+
+    /**
+     * Loads every table after the tables it depends on, and waits for all of them.
+     * Tables whose dependencies are loaded run concurrently, so independent branches of the dependency graph
+     * load in parallel. A table whose dependency failed is not loaded and reported as failed.
+     *
+     * Dependencies on tables outside of tables and on the table itself are ignored. Tables on a dependency
+     * cycle are loaded in the order of tables once everything outside the cycle that they depend on is loaded.
+     *
+     * @param tables Tables to load
+     * @param parents Tables each table depends on
+     * @param load Loads one table
+     * @return One result per table, in the order of tables
+     * @throws CancellationException if a load was cancelled or the calling thread was interrupted
+     */
+    public List<TableLoadResult> loadAll(List<String> tables, Map<String, Set<String>> parents, TableLoad load) {
+        LoadOrder order = new LoadOrder(tables, parents);
+        int workers = Math.min(parallelism, tables.size());
+        if (workers <= 1) {
+            for (String table = order.next(); table != null; table = order.next()) {
+                order.complete(loadOne(table, load));
+            }
+            return order.results();
+        }
+
+        String prefix = "ddg-load-" + loaderIds.incrementAndGet() + "-";
+        ExecutorService executor = Executors.newFixedThreadPool(workers, threads.factory(prefix));
+        try {
+            CompletionService<TableLoadResult> completions = new ExecutorCompletionService<>(executor);
+            while (!order.isDone()) {
+                for (String next = order.next(); next != null; next = order.next()) {
+                    String table = next;
+                    completions.submit(() -> loadOne(table, load));
+                    order.started();
+                }
+                order.complete(await(completions));
+            }
+            return order.results();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TableLoadResult loadOne(String table, TableLoad load) {
+        try {
+            connectionBudget.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a connection for " + table);
+        }
+        long start = System.nanoTime();
+        try {
+            InsertStats stats = load.load(table);
+            return new TableLoadResult(table, stats, elapsedMillis(start), null);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("[ERROR] Failed to load table: " + table, e);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            return new TableLoadResult(table, null, elapsedMillis(start), error);
+        } finally {
+            connectionBudget.release();
+        }
+    }
+
+    private static TableLoadResult await(CompletionService<TableLoadResult> completions) {
+        try {
+            return completions.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for table loads");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Tracks which tables are ready to load, in dependency order. Used by the calling thread only.
+     */
+    private static final class LoadOrder {
+        private final List<String> tables;
+        private final Map<String, List<String>> children = new HashMap<>();
+        private final Map<String, Integer> waitingFor = new HashMap<>();
+        private final Map<String, TableLoadResult> results = new HashMap<>();
+        private final Deque<String> ready = new ArrayDeque<>();
+        private int running;
+
+        LoadOrder(List<String> tables, Map<String, Set<String>> parents) {
+            this.tables = tables;
+            Set<String> known = new HashSet<>(tables);
+            for (String table : tables) {
+                int count = 0;
+                for (String parent : parents.getOrDefault(table, Set.of())) {
+                    if (known.contains(parent) && !parent.equals(table)) {
+                        children.computeIfAbsent(parent, p -> new ArrayList<>()).add(table);
+                        count++;
+                    }
+                }
+                waitingFor.put(table, count);
+                if (count == 0) {
+                    ready.add(table);
+                }
+            }
+            breakCycles();
+        }
+
+        /**
+         * Releases the tables that can never become ready because they wait on each other.
+         * Waits on tables outside the cycles are kept.
+         */
+        private void breakCycles() {
+            Map<String, Integer> remaining = new HashMap<>(waitingFor);
+            Deque<String> queue = new ArrayDeque<>(ready);
+            Set<String> ordered = new HashSet<>();
+            while (!queue.isEmpty()) {
+                String table = queue.poll();
+                ordered.add(table);
+                for (String child : children.getOrDefault(table, List.of())) {
+                    if (remaining.merge(child, -1, Integer::sum) == 0) {
+                        queue.add(child);
+                    }
+                }
+            }
+            if (ordered.size() == tables.size()) {
+                return;
+            }
+            List<String> cyclic = tables.stream().filter(t -> !ordered.contains(t)).toList();
+            logger.warn("Tables {} reference each other; loading them without ordering between them", cyclic);
+            Set<String> cyclicSet = new HashSet<>(cyclic);
+            for (String table : cyclic) {
+                List<String> kept = new ArrayList<>();
+                for (String child : children.getOrDefault(table, List.of())) {
+                    if (cyclicSet.contains(child)) {
+                        waitingFor.merge(child, -1, Integer::sum);
+                    } else {
+                        kept.add(child);
+                    }
+                }
+                children.put(table, kept);
+            }
+            for (String table : cyclic) {
+                if (waitingFor.get(table) == 0) {
+                    ready.add(table);
+                }
+            }
+        }
+
+        /**
+         * The next table whose dependencies are loaded, or null if none is ready right now.
+         */
+        String next() {
+            return ready.poll();
+        }
+
+        void started() {
+            running++;
+        }
+
+        boolean isDone() {
+            return results.size() == tables.size();
+        }
+
+        void complete(TableLoadResult result) {
+            if (running > 0) {
+                running--;
+            }
+            record(result);
+            if (!isDone() && ready.isEmpty() && running == 0) {
+                throw new IllegalStateException("No table is ready to load");
+            }
+        }
+
+        private void record(TableLoadResult result) {
+            results.put(result.table(), result);
+            for (String child : children.getOrDefault(result.table(), List.of())) {
+                if (results.containsKey(child)) {
+                    continue;
+                }
+                if (!result.isSuccess()) {
+                    logger.warn("[SKIP] Not loading {} because {} failed", child, result.table());
+                    record(new TableLoadResult(child, null, 0, "Parent table " + result.table() + " failed"));
+                } else if (waitingFor.merge(child, -1, Integer::sum) == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+
+        List<TableLoadResult> results() {
+            return tables.stream().map(results::get).toList();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+
+/**
+ * Outcome of loading one table as part of a multi-table load.
+ *
+ * @param table Table name
+ * @param stats Write statistics, or null if the load failed
+ * @param elapsedMillis Wall time spent on the table, from introspection to commit, excluding time queued
+ * @param error Failure message, or null if the load succeeded
+ */
+public record TableLoadResult(String table, InsertStats stats, long elapsedMillis, String error) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.hisham.dummydatagenerator.generator.DummyDataService;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DummyDataService#generateRows} on a narrow and a wide table without a primary key,
+ * so no database is needed. Each call builds a fresh batch, as the endpoint does.
+ * Scores are rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerateRowsBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"5", "100"})
+    private int columns;
+
+    private final DummyDataService service = new DummyDataService();
+    private TableMetadata metadata;
+
+    @Setup
+    public void setUp() {
+        metadata = RowPlanBenchmark.wideTable(columns);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public RowBatch generateRows() {
+        return service.generateRows(null, metadata, ROWS, "bench");
+    }
+}
@@ -0,0 +1,73 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.hisham.dummydatagenerator.generator.ColumnDataGenerator;
+import com.hisham.dummydatagenerator.generator.DataGeneratorFactory;
+import com.hisham.dummydatagenerator.generator.IntColumnGenerator;
+import com.hisham.dummydatagenerator.generator.LongColumnGenerator;
+import com.hisham.dummydatagenerator.generator.TimestampColumnGenerator;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every column generator on its own, one value at a time and a column chunk at a time.
+ * Scores are values per second; run with the gc profiler (the benchmarks profile does) for bytes per value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private static final int CHUNK = 1024;
+
+    /** SQL type of the generated column, one per generator */
+    @Param({"varchar", "int8", "numeric", "money", "timestamp", "date", "bytea", "int4", "int2", "bool"})
+    private String type;
+
+    private ColumnDataGenerator generator;
+    private Object[] objects;
+    private int[] ints;
+    private long[] longs;
+
+    @Setup
+    public void setUp() {
+        generator = DataGeneratorFactory.getGenerator(new ColumnMetadata("col", type, true, false, 50, 2));
+        objects = new Object[CHUNK];
+        ints = new int[CHUNK];
+        longs = new long[CHUNK];
+    }
+
+    /**
+     * One boxed value, as a per-cell caller sees it.
+     */
+    @Benchmark
+    public Object generate() {
+        return generator.generate();
+    }
+
+    /**
+     * A chunk of one column, through the primitive path for integer and timestamp generators as {@code RowPlan} fills it.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void fillColumn(Blackhole bh) {
+        if (generator instanceof IntColumnGenerator intGenerator) {
+            intGenerator.fill(ints, 0, CHUNK);
+            bh.consume(ints);
+        } else if (generator instanceof LongColumnGenerator longGenerator) {
+            longGenerator.fill(longs, 0, CHUNK);
+            bh.consume(longs);
+        } else if (generator instanceof TimestampColumnGenerator timestampGenerator) {
+            timestampGenerator.fill(longs, 0, CHUNK);
+            bh.consume(longs);
+        } else {
+            generator.fill(objects, 0, CHUNK);
+            bh.consume(objects);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.hisham.dummydatagenerator.generator.DataGeneratorFactory;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DataGeneratorFactory#getGenerator} across the supported types and an unknown one.
+ * Scores are lookups per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorFactoryBenchmark {
+
+    private static final String[] TYPES = {"varchar", "text", "numeric", "int2", "int4", "money", "int8",
+            "timestamptz", "timestamp", "bool", "bytea", "date", "uuid"};
+    /** TYPES.length, as a constant for {@link OperationsPerInvocation} */
+    private static final int LOOKUPS = 13;
+
+    private ColumnMetadata[] columns;
+
+    @Setup
+    public void setUp() {
+        if (TYPES.length != LOOKUPS) {
+            throw new IllegalStateException("LOOKUPS must match the number of types");
+        }
+        columns = new ColumnMetadata[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            columns[i] = new ColumnMetadata("col_" + i, TYPES[i], true, false, 50, 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getGenerator(Blackhole bh) {
+        for (ColumnMetadata column : columns) {
+            bh.consume(DataGeneratorFactory.getGenerator(column));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hisham.dummydatagenerator.DummyDataGeneratorApplication;
+import com.hisham.dummydatagenerator.controller.UniversalConnectorController;
+import com.hisham.dummydatagenerator.dto.ConnectionRequest;
+import com.hisham.dummydatagenerator.dto.ConnectionRequestAll;
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.dto.KafkaProducerConfig;
+import com.hisham.dummydatagenerator.job.ProgressTracker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end throughput benchmark of the /universal/insert and /universal/insert-all loads.
+ * Boots the application without a web server, loads into an in-memory H2 database and an embedded Kafka broker,
+ * and sweeps row counts, column counts, transactions and sinks. No external services are needed.
+ *
+ * For every scenario it reports rows/sec, p50/p99 chunk latency (generating and writing one chunk) and peak heap,
+ * on stdout and as JSON. Run through the load-benchmark profile:
+ * <pre>
+ * mvn -P load-benchmark test -Dload.rows=100000 -Dload.sinks=jdbc
+ * </pre>
+ * Settings are system properties: load.rows, load.columns, load.tnx, load.pipeline (pipeline depths of the
+ * insert scenarios, 0 generating and writing in turn) and load.sinks (jdbc, kafka) are comma-separated sweeps,
+ * load.tables is the table count of insert-all scenarios and load.report the JSON file.
+ */
+public final class LoadBenchmark {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:loadbench;DB_CLOSE_DELAY=-1";
+    private static final String SCHEMA = "BENCH";
+    private static final String TOPIC = "load-benchmark";
+    private static final String[] COLUMN_TYPES = {"INTEGER", "VARCHAR(50)", "NUMERIC(10,2)", "BOOLEAN", "DATE",
+            "TIMESTAMP WITH TIME ZONE", "BIGINT", "SMALLINT"};
+
+    private final UniversalConnectorController controller;
+    private final String bootstrapServers;
+    private final List<Map<String, Object>> results = new ArrayList<>();
+
+    private LoadBenchmark(UniversalConnectorController controller, String bootstrapServers) {
+        this.controller = controller;
+        this.bootstrapServers = bootstrapServers;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] rowCounts = ints(System.getProperty("load.rows", "10000,100000"));
+        int[] columnCounts = ints(System.getProperty("load.columns", "5,50"));
+        int[] tnxCounts = ints(System.getProperty("load.tnx", "1,4"));
+        int[] pipelineDepths = ints(System.getProperty("load.pipeline", "0,2"));
+        List<String> sinks = Arrays.asList(System.getProperty("load.sinks", "jdbc,kafka").split(","));
+        int tableCount = Integer.parseInt(System.getProperty("load.tables", "4"));
+        File report = new File(System.getProperty("load.report", "target/load-benchmark.json"));
+
+        // Devtools would restart the context in its own class loader; per-chunk logging would skew the timings
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("spring.jpa.show-sql", "false");
+        System.setProperty("logging.level.com.hisham.dummydatagenerator", "WARN");
+        System.setProperty("logging.level.org.apache.kafka", "WARN");
+
+        EmbeddedKafkaKraftBroker broker = null;
+        if (sinks.contains("kafka")) {
+            broker = new EmbeddedKafkaKraftBroker(1, 1, TOPIC);
+            broker.afterPropertiesSet();
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DummyDataGeneratorApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off")
+                .run()) {
+            LoadBenchmark benchmark = new LoadBenchmark(context.getBean(UniversalConnectorController.class),
+                    broker != null ? broker.getBrokersAsString() : null);
+
+            // Warm up the generation and write paths, and open the Kafka producer, before measuring
+            for (String sink : sinks) {
+                benchmark.insert(sink, columnCounts[0], Math.min(rowCounts[0], 10_000), 1, pipelineDepths[0], false);
+            }
+
+            for (String sink : sinks) {
+                for (int columns : columnCounts) {
+                    for (int rows : rowCounts) {
+                        for (int tnx : tnxCounts) {
+                            for (int depth : pipelineDepths) {
+                                benchmark.insert(sink, columns, rows, tnx, depth, true);
+                            }
+                        }
+                        benchmark.insertAll(sink, columns, rows, tableCount);
+                    }
+                }
+            }
+            benchmark.writeReport(report);
+        } finally {
+            if (broker != null) {
+                broker.destroy();
+            }
+        }
+    }
+
+    /**
+     * One /universal/insert scenario: rows spread over tnx transactions of one table.
+     */
+    private void insert(String sink, int columns, int rows, int tnx, int pipelineDepth, boolean record)
+            throws SQLException {
+        String table = "T" + columns;
+        createTable(table, columns);
+        ConnectionRequest req = new ConnectionRequest();
+        req.setJdbcUrl(JDBC_URL);
+        req.setUsername("sa");
+        req.setPassword("");
+        req.setDbType("postgresql");
+        req.setSchema(SCHEMA);
+        req.setTable(table);
+        if (sink.equals("kafka")) {
+            req.setTopic(TOPIC);
+            req.setKafkaConfig(kafkaConfig());
+        }
+        InsertOptions options = new InsertOptions();
+        options.setPipelineDepth(pipelineDepth);
+        req.setInsertOptions(options);
+        int rowsPerTnx = Math.max(1, rows / tnx);
+        Map<String, Object> scenario = scenario("insert", sink, columns, (long) rowsPerTnx * tnx, tnx, 1);
+        scenario.put("pipelineDepth", pipelineDepth);
+        measure(scenario, record, recorder -> controller.insert(rowsPerTnx, tnx, req, recorder));
+    }
+
+    /**
+     * One /universal/insert-all scenario: rows into each of tableCount tables.
+     */
+    private void insertAll(String sink, int columns, int rows, int tableCount) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            String table = "T" + columns + "_" + i;
+            createTable(table, columns);
+            tables.add(table);
+        }
+        ConnectionRequestAll req = new ConnectionRequestAll();
+        req.setJdbcUrl(JDBC_URL);
+        req.setUsername("sa");
+        req.setPassword("");
+        req.setDbType("postgresql");
+        req.setSchema(SCHEMA);
+        req.setRowsPerTable(rows);
+        req.setIncludeTables(tables);
+        if (sink.equals("kafka")) {
+            req.setTopic(TOPIC);
+            req.setKafkaConfig(kafkaConfig());
+        }
+        Map<String, Object> scenario = scenario("insert-all", sink, columns, (long) rows * tableCount, 1, tableCount);
+        measure(scenario, true, recorder -> {
+            Map<String, Object> response = controller.insertIntoAllTables(req, recorder);
+            // Failed tables are reported in the response rather than thrown
+            Map<?, ?> inserted = (Map<?, ?>) response.get("rowsInserted");
+            scenario.put("failedTables", inserted.values().stream().filter(count -> count.equals(-1)).count());
+            return response;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        Object run(ChunkLatencyRecorder recorder);
+    }
+
+    private void measure(Map<String, Object> scenario, boolean record, Load load) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        ChunkLatencyRecorder recorder = new ChunkLatencyRecorder();
+        long start = System.nanoTime();
+        load.run(recorder);
+        long elapsed = System.nanoTime() - start;
+        if (!record) {
+            return;
+        }
+
+        long rows = (long) scenario.get("rows");
+        long[] latencies = recorder.latencies();
+        scenario.put("elapsedMillis", elapsed / 1_000_000);
+        scenario.put("rowsPerSecond", Math.round(rows * 1_000_000_000d / elapsed));
+        scenario.put("chunks", latencies.length);
+        scenario.put("p50ChunkMillis", percentile(latencies, 0.50) / 1_000_000d);
+        scenario.put("p99ChunkMillis", percentile(latencies, 0.99) / 1_000_000d);
+        scenario.put("peakHeapBytes", heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+        results.add(scenario);
+        System.out.printf("%-10s %-5s columns=%-3d rows=%-8d tnx=%-2d tables=%-2d depth=%-2s %10d rows/s  p50 %7.2f ms  p99 %7.2f ms  peak heap %5d MB%n",
+                scenario.get("endpoint"), scenario.get("sink"), scenario.get("columns"), rows, scenario.get("tnx"),
+                scenario.get("tables"), scenario.getOrDefault("pipelineDepth", "-"), scenario.get("rowsPerSecond"), scenario.get("p50ChunkMillis"),
+                scenario.get("p99ChunkMillis"), (long) scenario.get("peakHeapBytes") / (1024 * 1024));
+    }
+
+    private static Map<String, Object> scenario(String endpoint, String sink, int columns, long rows, int tnx,
+                                                int tables) {
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("endpoint", endpoint);
+        scenario.put("sink", sink);
+        scenario.put("columns", columns);
+        scenario.put("rows", rows);
+        scenario.put("tnx", tnx);
+        scenario.put("tables", tables);
+        return scenario;
+    }
+
+    private void writeReport(File report) throws Exception {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("startedAt", Instant.now().toString());
+        document.put("javaVersion", System.getProperty("java.version"));
+        document.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        document.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        document.put("results", results);
+        File parent = report.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report, document);
+        System.out.println("Report written to " + report.getPath());
+    }
+
+    private KafkaProducerConfig kafkaConfig() {
+        KafkaProducerConfig config = new KafkaProducerConfig();
+        config.setBootstrapServers(bootstrapServers);
+        return config;
+    }
+
+    private static void createTable(String table, int columns) throws SQLException {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE " + SCHEMA + "." + table + " (ID BIGINT PRIMARY KEY");
+        for (int i = 1; i < columns; i++) {
+            ddl.append(", C").append(i).append(' ').append(COLUMN_TYPES[(i - 1) % COLUMN_TYPES.length]);
+        }
+        ddl.append(')');
+        try (Connection conn = DriverManager.getConnection(JDBC_URL, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            stmt.execute("DROP TABLE IF EXISTS " + SCHEMA + "." + table);
+            stmt.execute(ddl.toString());
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    /**
+     * Records the time between consecutive chunks of each loading thread, from the start of the load for
+     * a thread's first chunk. A chunk's latency covers generating and writing it, plus the commit for the last
+     * chunk of a transaction.
+     */
+    private static final class ChunkLatencyRecorder implements ProgressTracker {
+        private final long startNanos = System.nanoTime();
+        private final ThreadLocal<Long> lastChunkNanos = new ThreadLocal<>();
+        private final List<Long> latencies = new ArrayList<>();
+
+        @Override
+        public void setTotalRows(long totalRows) {
+        }
+
+        @Override
+        public void addRows(long rows) {
+            long now = System.nanoTime();
+            Long last = lastChunkNanos.get();
+            lastChunkNanos.set(now);
+            synchronized (latencies) {
+                latencies.add(now - (last != null ? last : startNanos));
+            }
+        }
+
+        @Override
+        public void checkCancelled() {
+        }
+
+        long[] latencies() {
+            synchronized (latencies) {
+                return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+        }
+    }
+}
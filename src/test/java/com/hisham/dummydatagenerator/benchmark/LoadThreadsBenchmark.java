@@ -0,0 +1,67 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.hisham.dummydatagenerator.config.LoadThreads;
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import com.hisham.dummydatagenerator.service.ParallelTableLoader;
+import com.hisham.dummydatagenerator.service.TableLoadResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual threads for a high-fanout, I/O-bound multi-table load through
+ * {@link ParallelTableLoader}. Every table load blocks for a few simulated database round trips, and all tables
+ * may load at once, so the scores show the cost of the threads themselves. Scores are tables loaded per second.
+ *
+ * The virtual variants need Java 21; on older JVMs they fail in setup and JMH moves on to the next one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadThreadsBenchmark {
+
+    /** Blocking round trips per table, e.g. key lookup, batches and commit */
+    private static final int ROUND_TRIPS = 4;
+    private static final long ROUND_TRIP_MILLIS = 2;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"100", "1000"})
+    private int tables;
+
+    private ParallelTableLoader loader;
+    private List<String> tableNames;
+
+    @Setup
+    public void setUp() {
+        LoadThreads loadThreads = threads.equals("virtual") ? LoadThreads.virtual() : LoadThreads.PLATFORM;
+        loader = new ParallelTableLoader(tables, new Semaphore(tables), loadThreads);
+        tableNames = new ArrayList<>(tables);
+        for (int i = 0; i < tables; i++) {
+            tableNames.add("t" + i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public List<TableLoadResult> loadAll() {
+        // Repeat small loads so every invocation covers 1000 tables, whatever the fan-out
+        List<TableLoadResult> results = null;
+        for (int i = 0; i < 1000 / tables; i++) {
+            results = loader.loadAll(tableNames, table -> {
+                for (int trip = 0; trip < ROUND_TRIPS; trip++) {
+                    Thread.sleep(ROUND_TRIP_MILLIS);
+                }
+                return InsertStats.empty();
+            });
+        }
+        return results;
+    }
+}
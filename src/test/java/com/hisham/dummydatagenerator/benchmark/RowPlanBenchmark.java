@@ -0,0 +1,80 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.hisham.dummydatagenerator.generator.ColumnDataGenerator;
+import com.hisham.dummydatagenerator.generator.DataGeneratorFactory;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.generator.RowPlan;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares row assembly with a generator lookup per cell against a compiled {@link RowPlan}.
+ * Scores are rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowPlanBenchmark {
+
+    private static final String[] TYPES = {"int4", "int8", "varchar", "numeric", "bool", "date", "timestamp",
+            "text", "int2", "bytea"};
+
+    @Param({"10", "100", "200"})
+    private int columns;
+
+    private TableMetadata metadata;
+    private RowPlan plan;
+    private RowBatch batch;
+
+    @Setup
+    public void setUp() {
+        metadata = wideTable(columns);
+        plan = RowPlan.compile(metadata);
+        batch = plan.newBatch(1);
+    }
+
+    /**
+     * Builds a table cycling through the common column types.
+     */
+    static TableMetadata wideTable(int columnCount) {
+        List<ColumnMetadata> cols = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            String type = TYPES[i % TYPES.length];
+            cols.add(new ColumnMetadata("col_" + i, type, true, false, 50, 2));
+        }
+        return new TableMetadata("bench_table", cols);
+    }
+
+    /**
+     * The generation loop before row plans: factory lookup and generator allocation per cell.
+     */
+    @Benchmark
+    public void perCellLookup(Blackhole bh) {
+        Map<String, Object> row = new HashMap<>();
+        for (ColumnMetadata column : metadata.getColumns()) {
+            ColumnDataGenerator generator = DataGeneratorFactory.getGenerator(column);
+            row.put(column.getColumnName(), generator.generate());
+        }
+        bh.consume(row);
+    }
+
+    /**
+     * Generates into a reused batch, as the streaming pipeline does.
+     */
+    @Benchmark
+    public void compiledRowPlan(Blackhole bh) {
+        plan.fill(batch, 1);
+        bh.consume(batch);
+    }
+}
@@ -0,0 +1,56 @@
+package com.hisham.dummydatagenerator.benchmark;
+
+import com.hisham.dummydatagenerator.generator.VarcharGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link VarcharGenerator} with the UUID-based generator it replaced, which built each value from
+ * {@code UUID.randomUUID()} (SecureRandom), a replace, a concatenation and a substring.
+ * Scores are values per second; the uuid baseline caps lengths at 36 characters, so at larger column sizes it
+ * produces shorter strings than the generator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VarcharGeneratorBenchmark {
+
+    private static final int CHUNK = 1024;
+
+    @Param({"10", "50", "255"})
+    private int columnSize;
+
+    private VarcharGenerator generator;
+    private Object[] values;
+
+    @Setup
+    public void setUp() {
+        generator = new VarcharGenerator(columnSize);
+        values = new Object[CHUNK];
+    }
+
+    @Benchmark
+    public Object uuidBaseline() {
+        String base = "val_" + UUID.randomUUID().toString().replace("-", "");
+        return base.substring(0, Math.min(base.length(), ThreadLocalRandom.current().nextInt(1, columnSize + 1)));
+    }
+
+    @Benchmark
+    public Object generate() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void fillColumn(Blackhole bh) {
+        generator.fill(values, 0, CHUNK);
+        bh.consume(values);
+    }
+}
@@ -0,0 +1,102 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.dto.InsertOptions;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcBatchWriterTest {
+
+    private static final List<ColumnMetadata> COLUMNS = List.of(
+            new ColumnMetadata("id", "int4", false, true, null, null),
+            new ColumnMetadata("name", "varchar", true, false, 20, null));
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:batchwriter;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS TEST");
+            stmt.execute("CREATE TABLE TEST.ITEMS (id INT PRIMARY KEY, name VARCHAR(20))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE TEST.ITEMS");
+        }
+        conn.close();
+    }
+
+    @Test
+    void testWritesAllRowsInBatches() throws SQLException {
+        InsertOptions options = new InsertOptions();
+        options.setBatchSize(3);
+
+        InsertStats stats;
+        try (JdbcBatchWriter writer = new JdbcBatchWriter(conn, "TEST", "ITEMS", COLUMNS, options)) {
+            writer.write(rows(10));
+            stats = writer.finish();
+        }
+
+        assertEquals(10, stats.getRows());
+        assertEquals(4, stats.getBatches());
+        assertEquals(10, count());
+        assertTrue(conn.getAutoCommit(), "auto-commit should be restored");
+    }
+
+    @Test
+    void testUnfinishedWriteIsRolledBack() throws SQLException {
+        InsertOptions options = new InsertOptions();
+        options.setBatchSize(2);
+
+        try (JdbcBatchWriter writer = new JdbcBatchWriter(conn, "TEST", "ITEMS", COLUMNS, options)) {
+            writer.write(rows(5));
+        }
+
+        assertEquals(0, count());
+    }
+
+    @Test
+    void testCommitPerBatchKeepsFlushedBatches() throws SQLException {
+        InsertOptions options = new InsertOptions();
+        options.setBatchSize(2);
+        options.setCommitMode(InsertOptions.CommitMode.BATCH);
+
+        try (JdbcBatchWriter writer = new JdbcBatchWriter(conn, "TEST", "ITEMS", COLUMNS, options)) {
+            writer.write(rows(5));
+        }
+
+        assertEquals(4, count());
+    }
+
+    private static RowBatch rows(int n) {
+        RowBatch rows = new RowBatch(new TableMetadata("ITEMS", COLUMNS), n);
+        for (int i = 0; i < n; i++) {
+            rows.addRow(i, "name_" + i);
+        }
+        return rows;
+    }
+
+    private int count() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM TEST.ITEMS")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
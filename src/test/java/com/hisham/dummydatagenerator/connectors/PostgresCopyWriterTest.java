@@ -0,0 +1,131 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.generator.TimestampGenerator;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresCopyWriterTest {
+
+    @Test
+    void testNumericIsEncodedInBase10000Groups() throws IOException {
+        DataInputStream in = encode(out -> PostgresCopyWriter.writeNumeric(out, new BigDecimal("-12345.6789")));
+
+        assertEquals(14, in.readInt());      // length
+        assertEquals(3, in.readShort());     // ndigits
+        assertEquals(1, in.readShort());     // weight
+        assertEquals(0x4000, in.readShort()); // negative
+        assertEquals(4, in.readShort());     // dscale
+        assertEquals(1, in.readShort());
+        assertEquals(2345, in.readShort());
+        assertEquals(6789, in.readShort());
+    }
+
+    @Test
+    void testNumericSmallFraction() throws IOException {
+        DataInputStream in = encode(out -> PostgresCopyWriter.writeNumeric(out, new BigDecimal("0.0001")));
+
+        assertEquals(10, in.readInt());
+        assertEquals(1, in.readShort());
+        assertEquals(-1, in.readShort());
+        assertEquals(0, in.readShort());
+        assertEquals(4, in.readShort());
+        assertEquals(1, in.readShort());
+    }
+
+    @Test
+    void testNumericZero() throws IOException {
+        DataInputStream in = encode(out -> PostgresCopyWriter.writeNumeric(out, new BigDecimal("0.00")));
+
+        assertEquals(8, in.readInt());
+        assertEquals(0, in.readShort());
+        assertEquals(0, in.readShort());
+        assertEquals(0, in.readShort());
+        assertEquals(2, in.readShort());
+    }
+
+    @Test
+    void testPrimitiveIntegerMatchesBoxedEncoding() throws IOException {
+        for (String type : new String[]{"int2", "int4", "int8"}) {
+            ColumnMetadata column = column(type);
+            PostgresCopyWriter.FieldEncoder encoder = PostgresCopyWriter.encoderFor(column);
+            int width = PostgresCopyWriter.integerWidth(column);
+
+            byte[] boxed = bytes(out -> encoder.encode(out, -1234L));
+            byte[] primitive = bytes(out -> PostgresCopyWriter.writeInteger(out, width, -1234L));
+
+            assertArrayEquals(boxed, primitive, type);
+        }
+        assertEquals(0, PostgresCopyWriter.integerWidth(column("numeric")));
+    }
+
+    @Test
+    void testPrimitiveTimestampMatchesBoxedEncoding() throws IOException {
+        PostgresCopyWriter.FieldEncoder encoder = PostgresCopyWriter.encoderFor(column("timestamptz"));
+        OffsetDateTime value = OffsetDateTime.of(2000, 1, 1, 0, 0, 1, 500_000, ZoneOffset.UTC);
+
+        byte[] boxed = bytes(out -> encoder.encode(out, value));
+        byte[] primitive = bytes(out -> PostgresCopyWriter.writeTimestamp(out,
+                TimestampGenerator.toEpochMicros(value.toInstant())));
+
+        assertArrayEquals(boxed, primitive);
+        DataInputStream in = encode(out -> encoder.encode(out, value));
+        assertEquals(8, in.readInt());
+        assertEquals(1_000_500L, in.readLong());
+    }
+
+    @Test
+    void testDateIsDaysSince2000() throws IOException {
+        PostgresCopyWriter.FieldEncoder encoder = PostgresCopyWriter.encoderFor(column("date"));
+        DataInputStream in = encode(out -> encoder.encode(out, LocalDate.of(2000, 1, 11)));
+
+        assertEquals(4, in.readInt());
+        assertEquals(10, in.readInt());
+    }
+
+    @Test
+    void testInt8AcceptsBigInteger() throws IOException {
+        PostgresCopyWriter.FieldEncoder encoder = PostgresCopyWriter.encoderFor(column("int8"));
+        DataInputStream in = encode(out -> encoder.encode(out, BigInteger.valueOf(-42)));
+
+        assertEquals(8, in.readInt());
+        assertEquals(-42L, in.readLong());
+    }
+
+    @Test
+    void testUnknownTypeRejectsValues() {
+        PostgresCopyWriter.FieldEncoder encoder = PostgresCopyWriter.encoderFor(column("geometry"));
+
+        assertThrows(IOException.class, () -> encode(out -> encoder.encode(out, "POINT(0 0)")));
+    }
+
+    private static ColumnMetadata column(String type) {
+        return new ColumnMetadata("test_column", type, true, false, null, null);
+    }
+
+    private interface Encoding {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static DataInputStream encode(Encoding encoding) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(bytes(encoding)));
+    }
+
+    private static byte[] bytes(Encoding encoding) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        encoding.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.schema.ForeignKeyMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelationalDatabaseConnectorTest {
+
+    private final RelationalDatabaseConnector connector = new RelationalDatabaseConnector();
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:introspection;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        execute("CREATE SCHEMA IF NOT EXISTS TEST");
+        execute("CREATE TABLE TEST.CUSTOMERS (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+        execute("CREATE TABLE TEST.ORDERS (ID INT PRIMARY KEY, CUSTOMER_ID INT NOT NULL, "
+                + "CONSTRAINT FK_ORDERS_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES TEST.CUSTOMERS (ID))");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("DROP TABLE IF EXISTS TEST.ORDERS");
+        execute("DROP TABLE IF EXISTS TEST.CUSTOMERS");
+    }
+
+    @Test
+    void testForeignKeysAreIntrospected() {
+        TableMetadata orders = connector.getTableMetadata(dataSource, "TEST", "ORDERS");
+
+        assertEquals(List.of(new ForeignKeyMetadata("FK_ORDERS_CUSTOMER", "CUSTOMER_ID", "TEST", "CUSTOMERS", "ID")),
+                orders.getForeignKeys());
+    }
+
+    @Test
+    void testTableWithoutForeignKeys() {
+        TableMetadata customers = connector.getTableMetadata(dataSource, "TEST", "CUSTOMERS");
+
+        assertTrue(customers.getForeignKeys().isEmpty());
+        assertEquals(2, customers.getColumns().size());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hisham.dummydatagenerator.connectors;
+
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlServerBulkCopyWriterTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "int, " + Types.INTEGER,
+        "int identity, " + Types.INTEGER,
+        "bigint, " + Types.BIGINT,
+        "decimal, " + Types.DECIMAL,
+        "money, " + Types.DECIMAL,
+        "datetime2, " + Types.TIMESTAMP,
+        "nvarchar, " + Types.NVARCHAR,
+        "varchar, " + Types.VARCHAR
+    })
+    void testJdbcTypeForColumn(String type, int expected) {
+        ColumnMetadata column = new ColumnMetadata("test_column", type, true, false, null, null);
+        assertEquals(expected, SqlServerBulkCopyWriter.jdbcType(column));
+    }
+
+    @Test
+    void testConvertsGeneratorOutput() {
+        assertEquals(5L, SqlServerBulkCopyWriter.convert(BigInteger.valueOf(5), Types.BIGINT));
+        assertEquals(new BigDecimal("12.34"), SqlServerBulkCopyWriter.convert("$12.34", Types.DECIMAL));
+        assertEquals(java.sql.Date.valueOf("2020-01-02"),
+                SqlServerBulkCopyWriter.convert(LocalDate.of(2020, 1, 2), Types.DATE));
+        assertEquals(Timestamp.valueOf("2020-01-02 03:04:05"),
+                SqlServerBulkCopyWriter.convert(OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC),
+                        Types.TIMESTAMP));
+        assertNull(SqlServerBulkCopyWriter.convert(null, Types.INTEGER));
+    }
+
+    @Test
+    void testRowRecordWalksTheBatch() throws Exception {
+        List<ColumnMetadata> columns = List.of(
+                new ColumnMetadata("id", "bigint", false, true, null, null),
+                new ColumnMetadata("price", "decimal", true, false, 8, 2),
+                new ColumnMetadata("born", "date", true, false, null, null));
+        RowBatch batch = new RowBatch(new TableMetadata("items", columns), 4);
+        batch.addRow(BigInteger.ONE, "$1.50", LocalDate.of(2020, 1, 2));
+        batch.addRow(BigInteger.TWO, null, null);
+        int[] jdbcTypes = columns.stream().mapToInt(SqlServerBulkCopyWriter::jdbcType).toArray();
+
+        SqlServerBulkCopyWriter.RowRecord record = new SqlServerBulkCopyWriter.RowRecord(columns, jdbcTypes, batch);
+
+        assertEquals(Set.of(1, 2, 3), record.getColumnOrdinals());
+        assertEquals("price", record.getColumnName(2));
+        assertEquals(Types.DECIMAL, record.getColumnType(2));
+        assertEquals(8, record.getPrecision(2));
+        assertEquals(2, record.getScale(2));
+        assertTrue(record.next());
+        assertArrayEquals(new Object[] {1L, new BigDecimal("1.50"), java.sql.Date.valueOf("2020-01-02")},
+                record.getRowData());
+        assertTrue(record.next());
+        assertArrayEquals(new Object[] {2L, null, null}, record.getRowData());
+        assertFalse(record.next());
+    }
+}
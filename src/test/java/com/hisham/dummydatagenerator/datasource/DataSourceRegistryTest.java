@@ -0,0 +1,118 @@
+package com.hisham.dummydatagenerator.datasource;
+
+import com.hisham.dummydatagenerator.config.DataSourcePoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceRegistryTest {
+
+    private static final String URL_A = "jdbc:h2:mem:registry_a;DB_CLOSE_DELAY=-1";
+    private static final String URL_B = "jdbc:h2:mem:registry_b;DB_CLOSE_DELAY=-1";
+    private static final String URL_C = "jdbc:h2:mem:registry_c;DB_CLOSE_DELAY=-1";
+
+    private DataSourcePoolProperties properties;
+    private DataSourceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DataSourcePoolProperties();
+        properties.setMaxPoolSize(2);
+        registry = new DataSourceRegistry(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.closeAll();
+    }
+
+    @Test
+    void testSameConnectionDetailsShareOnePool() throws SQLException {
+        DataSource first = registry.getDataSource(URL_A, "sa", "");
+        DataSource second = registry.getDataSource(URL_A, "sa", "");
+
+        assertSame(first, second);
+        assertEquals(1, registry.size());
+        try (Connection conn = first.getConnection()) {
+            assertTrue(conn.isValid(1));
+        }
+    }
+
+    @Test
+    void testWrongPasswordDoesNotReuseCachedPool() {
+        DataSource first = registry.getDataSource(URL_A, "sa", "");
+
+        assertThrows(RuntimeException.class, () -> registry.getDataSource(URL_A, "sa", "wrong"));
+        assertSame(first, registry.getDataSource(URL_A, "sa", ""));
+    }
+
+    @Test
+    void testLeastRecentlyUsedPoolIsClosedBeyondMaxPools() {
+        properties.setMaxPools(1);
+        HikariDataSource first = (HikariDataSource) registry.getDataSource(URL_A, "sa", "");
+        registry.getDataSource(URL_B, "sa", "");
+
+        assertEquals(1, registry.size());
+        assertTrue(first.isClosed());
+    }
+
+    @Test
+    void testPoolInUseIsNotClosedBeyondMaxPools() throws SQLException {
+        properties.setMaxPools(1);
+        HikariDataSource first = (HikariDataSource) registry.getDataSource(URL_A, "sa", "");
+
+        try (Connection conn = first.getConnection()) {
+            registry.getDataSource(URL_B, "sa", "");
+
+            assertFalse(first.isClosed());
+            assertEquals(2, registry.size());
+            assertTrue(conn.isValid(1));
+        }
+        registry.getDataSource(URL_B, "sa", "");
+
+        assertTrue(first.isClosed());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testReplacedPoolIsClosedOnceItsConnectionsAreReturned() throws SQLException {
+        HikariDataSource first = (HikariDataSource) registry.getDataSource(URL_C, "sa", "");
+
+        try (Connection conn = first.getConnection()) {
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("ALTER USER SA SET PASSWORD 'changed'");
+            }
+            DataSource second = registry.getDataSource(URL_C, "sa", "changed");
+
+            assertNotSame(first, second);
+            assertFalse(first.isClosed());
+            assertTrue(conn.isValid(1));
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("ALTER USER SA SET PASSWORD ''");
+            }
+        }
+        registry.evictIdlePools();
+
+        assertTrue(first.isClosed());
+    }
+
+    @Test
+    void testIdlePoolsAreEvicted() {
+        properties.setPoolIdleTimeout(Duration.ZERO);
+        HikariDataSource first = (HikariDataSource) registry.getDataSource(URL_A, "sa", "");
+
+        registry.evictIdlePools();
+
+        assertEquals(0, registry.size());
+        assertTrue(first.isClosed());
+    }
+}
@@ -0,0 +1,42 @@
+package com.hisham.dummydatagenerator.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigIntGeneratorTest {
+
+    @Test
+    void testGenerateReturnsLong() {
+        assertInstanceOf(Long.class, new BigIntGenerator().generate());
+    }
+
+    @Test
+    void testFillStaysWithinRange() {
+        BigIntGenerator generator = new BigIntGenerator(5_000_000_000L, 5_000_000_010L);
+        long[] values = new long[1000];
+        generator.fill(values, 0, values.length);
+
+        for (long value : values) {
+            assertTrue(value >= 5_000_000_000L && value < 5_000_000_010L, Long.toString(value));
+        }
+    }
+
+    @Test
+    void testEmptyRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BigIntGenerator(7, 7));
+    }
+
+    @Test
+    void testGenerateRandomBigIntegerBeyondLongRange() {
+        BigInteger min = BigInteger.TWO.pow(70);
+        BigInteger max = min.add(BigInteger.valueOf(3));
+
+        for (int i = 0; i < 100; i++) {
+            BigInteger value = BigIntGenerator.generateRandomBigInteger(min, max);
+            assertTrue(value.compareTo(min) >= 0 && value.compareTo(max) < 0, value.toString());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hisham.dummydatagenerator.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongHashSetTest {
+
+    @Test
+    void testAddReportsDuplicates() {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet();
+
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(0));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(7));
+    }
+
+    @Test
+    void testConcurrentAddsAcceptEachKeyOnce() {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet(16);
+        AtomicInteger added = new AtomicInteger();
+
+        // Every thread adds the same 100,000 keys; exactly one add per key may succeed
+        List<CompletableFuture<Void>> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(CompletableFuture.runAsync(() -> {
+                for (long key = 0; key < 100_000; key++) {
+                    if (set.add(key * 31)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(CompletableFuture::join);
+
+        assertEquals(100_000, added.get());
+        assertEquals(100_000, set.size());
+    }
+}
@@ -21,7 +21,12 @@ class DataGeneratorFactoryTest {
         "timestamp, , , TimestampGenerator",
         "bool, , , BooleanGenerator",
         "bytea, , , ByteaGenerator",
-        "date, , , DateGenerator"
+        "date, , , DateGenerator",
+        "character varying, 50, , VarcharGenerator",
+        "integer, , , IntegerGenerator",
+        "bigint, , , BigIntGenerator",
+        "boolean, , , BooleanGenerator",
+        "timestamp with time zone, , , TimestampGenerator"
     })
     void testGetGeneratorForKnownTypes(String type, Integer size, Integer scale, String expectedGeneratorClass) {
         ColumnMetadata column = new ColumnMetadata("test_column", type, true, false, size, scale);
@@ -0,0 +1,289 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.metrics.LoadMetrics;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DummyDataServiceTest {
+
+    /** Four generator threads, so parallel loads run in parallel on machines with fewer cores */
+    private final DummyDataService service = new DummyDataService(4);
+
+    private static TableMetadata table() {
+        return new TableMetadata("items", List.of(
+                new ColumnMetadata("name", "varchar", true, false, 20, null),
+                new ColumnMetadata("qty", "int4", true, false, null, null)));
+    }
+
+    @Test
+    void testStreamRowsEmitsBoundedChunks() {
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        service.streamRows(null, table(), 25, "public", 10, chunk -> chunkSizes.add(chunk.size()));
+
+        assertEquals(List.of(10, 10, 5), chunkSizes);
+    }
+
+    @Test
+    void testGenerateRowsReturnsAllRows() {
+        RowBatch rows = service.generateRows(null, table(), 7, "public");
+
+        assertEquals(7, rows.size());
+        assertEquals("name", rows.columnName(0));
+        assertInstanceOf(Integer.class, rows.get(6, 1));
+    }
+
+    @Test
+    void testRowViewMapsColumnNamesToValues() {
+        RowBatch rows = new RowBatch(table(), 2);
+        rows.addRow("a", 1);
+        rows.addRow("b", 2);
+
+        Map<String, Object> view = rows.rowView(1);
+
+        assertEquals(Map.of("name", "b", "qty", 2), view);
+        assertEquals(List.of("name", "qty"), List.copyOf(view.keySet()));
+    }
+
+    @Test
+    void testIntegerColumnsAreStoredUnboxed() {
+        RowBatch rows = service.generateRows(null, table(), 3, "public");
+
+        assertEquals(RowBatch.ColumnKind.OBJECT, rows.kind(0));
+        assertEquals(RowBatch.ColumnKind.INT, rows.kind(1));
+        assertEquals(rows.get(2, 1), rows.getInt(2, 1));
+    }
+
+    @Test
+    void testRowPlanIsReusedForEqualMetadata() {
+        assertSame(service.getRowPlan(table()), service.getRowPlan(table()));
+    }
+
+    @Test
+    void testSinkFailureStopsGeneration() {
+        List<Integer> calls = new ArrayList<>();
+
+        assertThrows(RuntimeException.class, () -> service.streamRows(null, table(), 100, "public", 10, chunk -> {
+            calls.add(chunk.size());
+            throw new java.sql.SQLException("boom");
+        }));
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void testStreamRowsRecordsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            TableMetadata metadata = new TableMetadata("metered", List.of(
+                    new ColumnMetadata("id", "int4", false, true, null, null),
+                    new ColumnMetadata("name", "varchar", true, false, 20, null)));
+            RowPlan plan = service.getRowPlan(metadata);
+
+            service.streamRows(metadata, 25, 10, new LongKeySetStrategy(plan, new ConcurrentLongHashSet()), chunk -> { });
+
+            assertEquals(25, registry.get(LoadMetrics.ROWS_GENERATED).tag("table", "metered").counter().count());
+            assertEquals(3, registry.get(LoadMetrics.GENERATOR_FILL).tag("generator", "VarcharGenerator")
+                    .timer().count());
+            assertEquals(25, registry.get(LoadMetrics.PRIMARY_KEYS).tag("table", "metered").gauge().value());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void testParallelOrderedChunksMatchSequentialGeneration() {
+        List<String> sequential = new ArrayList<>();
+        List<String> parallel = new ArrayList<>();
+
+        service.streamRows(table(), 95, 10, PrimaryKeyStrategy.NONE, RandomStreams.seeded(1, "items"),
+                chunk -> sequential.addAll(render(chunk)));
+        service.streamRows(table(), 95, 10, PrimaryKeyStrategy.NONE, RandomStreams.seeded(1, "items"),
+                4, ChunkOrder.ORDERED, chunk -> parallel.addAll(render(chunk)));
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void testParallelSequentialKeysMatchSequentialGeneration() {
+        TableMetadata metadata = new TableMetadata("numbered", List.of(
+                new ColumnMetadata("id", "int8", false, true, null, null),
+                new ColumnMetadata("name", "varchar", true, false, 20, null)));
+        RowPlan plan = service.getRowPlan(metadata);
+        List<String> sequential = new ArrayList<>();
+        List<String> parallel = new ArrayList<>();
+
+        service.streamRows(metadata, 2000, 50, new SequentialKeyStrategy(plan, 100, Long.MAX_VALUE),
+                RandomStreams.seeded(1, "numbered"), chunk -> sequential.addAll(render(chunk)));
+        service.streamRows(metadata, 2000, 50, new SequentialKeyStrategy(plan, 100, Long.MAX_VALUE),
+                RandomStreams.seeded(1, "numbered"), 4, ChunkOrder.ORDERED, chunk -> parallel.addAll(render(chunk)));
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void testParallelUnorderedChunksCallTheSinkFromTheCallingThread() {
+        List<String> sequential = new ArrayList<>();
+        List<String> parallel = new ArrayList<>();
+        Set<Thread> sinkThreads = new HashSet<>();
+
+        service.streamRows(table(), 95, 10, PrimaryKeyStrategy.NONE, RandomStreams.seeded(1, "items"),
+                chunk -> sequential.addAll(render(chunk)));
+        service.streamRows(table(), 95, 10, PrimaryKeyStrategy.NONE, RandomStreams.seeded(1, "items"),
+                4, ChunkOrder.UNORDERED, chunk -> {
+                    sinkThreads.add(Thread.currentThread());
+                    parallel.addAll(render(chunk));
+                });
+
+        assertEquals(Set.of(Thread.currentThread()), sinkThreads);
+        assertEquals(new HashSet<>(sequential), new HashSet<>(parallel));
+        assertEquals(95, parallel.size());
+    }
+
+    @Test
+    void testParallelChunksKeepPrimaryKeysUnique() {
+        TableMetadata metadata = new TableMetadata("keyed", List.of(
+                new ColumnMetadata("id", "int2", false, true, null, null)));
+        RowPlan plan = service.getRowPlan(metadata);
+        List<PrimaryKeyStrategy> strategies = List.of(
+                new SequentialKeyStrategy(plan, 1, Short.MAX_VALUE),
+                new LongKeySetStrategy(plan, new ConcurrentLongHashSet()),
+                new KeySetStrategy(plan, java.util.concurrent.ConcurrentHashMap.newKeySet()));
+
+        for (PrimaryKeyStrategy keys : strategies) {
+            Set<Short> seen = new HashSet<>();
+            service.streamRows(metadata, 20_000, 500, keys, RandomStreams.UNSEEDED, 8, ChunkOrder.UNORDERED,
+                    chunk -> {
+                        for (int r = 0; r < chunk.size(); r++) {
+                            assertTrue(seen.add(((Number) chunk.get(r, 0)).shortValue()), keys.getClass().getName());
+                        }
+                    });
+            assertEquals(20_000, seen.size());
+        }
+    }
+
+    @Test
+    void testParallelSinkFailureStopsGeneration() {
+        List<Integer> calls = new ArrayList<>();
+
+        assertThrows(RuntimeException.class, () -> service.streamRows(table(), 1000, 10, PrimaryKeyStrategy.NONE,
+                RandomStreams.UNSEEDED, 4, ChunkOrder.ORDERED, chunk -> {
+                    calls.add(chunk.size());
+                    throw new java.sql.SQLException("boom");
+                }));
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void testPipelinedChunksMatchSequentialGeneration() {
+        List<String> sequential = new ArrayList<>();
+        List<String> pipelined = new ArrayList<>();
+
+        service.streamRows(table(), 95, 10, PrimaryKeyStrategy.NONE, RandomStreams.seeded(1, "items"),
+                chunk -> sequential.addAll(render(chunk)));
+        service.streamRows(table(), 95, 10, PrimaryKeyStrategy.NONE, RandomStreams.seeded(1, "items"),
+                1, 2, ChunkOrder.ORDERED, chunk -> pipelined.addAll(render(chunk)));
+
+        assertEquals(sequential, pipelined);
+    }
+
+    @Test
+    void testPipelineRunsAheadOfASlowSinkUpToItsCapacity() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            AtomicInteger generated = new AtomicInteger();
+            List<Integer> ahead = new ArrayList<>();
+            PrimaryKeyStrategy counting = batch -> generated.incrementAndGet();
+
+            service.streamRows(table(), 100, 10, counting, RandomStreams.UNSEEDED, 1, 2, ChunkOrder.ORDERED,
+                    chunk -> {
+                        Thread.sleep(20);
+                        ahead.add(generated.get() - ahead.size());
+                    });
+
+            // One chunk in the sink, at most one being generated and two queued
+            assertEquals(10, ahead.size());
+            assertTrue(ahead.stream().allMatch(n -> n <= 3), ahead.toString());
+            assertTrue(ahead.stream().anyMatch(n -> n > 1), ahead.toString());
+            assertTrue(registry.get(LoadMetrics.PIPELINE_PRODUCER_WAIT).tag("table", "items").timer().count() > 0);
+            assertEquals(0, registry.get(LoadMetrics.PIPELINE_QUEUE_DEPTH).tag("table", "items").gauge().value());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void testMoreConcurrentPipelinesThanGeneratorThreadsOverlap() throws Exception {
+        DummyDataService single = new DummyDataService(1);
+        int loads = 3;
+        CyclicBarrier allWriting = new CyclicBarrier(loads);
+        Set<Thread> generators = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        PrimaryKeyStrategy recording = batch -> generators.add(Thread.currentThread());
+        ExecutorService callers = Executors.newFixedThreadPool(loads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < loads; i++) {
+                results.add(callers.submit(() -> {
+                    AtomicInteger chunks = new AtomicInteger();
+                    single.streamRows(table(), 100, 10, recording, RandomStreams.UNSEEDED, 1, 2,
+                            ChunkOrder.ORDERED, chunk -> {
+                                // Every load must be writing at once before any of them can finish
+                                if (chunks.incrementAndGet() == 1) {
+                                    allWriting.await(10, TimeUnit.SECONDS);
+                                }
+                            });
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(1, generators.size(), "no generator thread should block and need a replacement");
+        } finally {
+            callers.shutdownNow();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testPipelineGenerationFailureReachesTheCaller() {
+        AtomicInteger generated = new AtomicInteger();
+        PrimaryKeyStrategy failing = batch -> {
+            if (generated.incrementAndGet() == 3) {
+                throw new IllegalStateException("keys exhausted");
+            }
+        };
+        List<Integer> calls = new ArrayList<>();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.streamRows(table(), 100,
+                10, failing, RandomStreams.UNSEEDED, 2, 2, ChunkOrder.ORDERED, chunk -> calls.add(chunk.size())));
+        assertEquals("keys exhausted", e.getMessage());
+        assertTrue(calls.size() < 3, calls.toString());
+    }
+
+    private static List<String> render(RowBatch batch) {
+        List<String> rows = new ArrayList<>();
+        for (int r = 0; r < batch.size(); r++) {
+            rows.add(java.util.Arrays.toString(batch.row(r)));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,137 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.ForeignKeyMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import com.hisham.dummydatagenerator.service.ParallelTableLoader;
+import com.hisham.dummydatagenerator.service.TableLoadResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForeignKeyPoolsTest {
+
+    private final DummyDataService service = new DummyDataService();
+
+    private static final TableMetadata CUSTOMERS = new TableMetadata("customers", List.of(
+            new ColumnMetadata("id", "int4", false, true, null, null),
+            new ColumnMetadata("name", "varchar", true, false, 20, null)));
+
+    private static final TableMetadata ORDERS = new TableMetadata("orders", List.of(
+            new ColumnMetadata("id", "int4", false, true, null, null),
+            new ColumnMetadata("customer_id", "int4", false, false, null, null),
+            new ColumnMetadata("parent_id", "int4", true, false, null, null)),
+            List.of(new ForeignKeyMetadata("fk_customer", "CUSTOMER_ID", "public", "CUSTOMERS", "ID"),
+                    new ForeignKeyMetadata("fk_parent", "parent_id", "public", "orders", "id"),
+                    new ForeignKeyMetadata("fk_other", "parent_id", "other", "customers", "id")));
+
+    @Test
+    void testOnlyReferencesWithinTheLoadAreFollowed() {
+        ForeignKeyPools pools = new ForeignKeyPools("public", List.of(CUSTOMERS, ORDERS));
+
+        assertEquals(Map.of("customers", Set.of(), "orders", Set.of("customers")), pools.getParents());
+        assertNotNull(pools.getPool("customers", "id"));
+        assertNull(pools.getPool("orders", "id"), "self-references are not followed");
+    }
+
+    @Test
+    void testChildrenReferenceGeneratedParentKeys() throws Exception {
+        ForeignKeyPools pools = new ForeignKeyPools("public", List.of(CUSTOMERS, ORDERS));
+        Set<Object> customerIds = new HashSet<>();
+
+        ForeignKeyBinding parent = pools.bind(CUSTOMERS);
+        service.streamRows(CUSTOMERS, 50, 20, PrimaryKeyStrategy.NONE, batch -> {
+            parent.fill(batch);
+            parent.capture(batch);
+            for (int row = 0; row < batch.size(); row++) {
+                customerIds.add(batch.getLong(row, 0));
+            }
+        });
+
+        ForeignKeyBinding child = pools.bind(ORDERS);
+        Set<Object> referenced = new HashSet<>();
+        service.streamRows(ORDERS, 200, 64, PrimaryKeyStrategy.NONE, batch -> {
+            child.fill(batch);
+            for (int row = 0; row < batch.size(); row++) {
+                referenced.add(batch.getLong(row, 1));
+            }
+        });
+
+        assertFalse(parent.hasForeignKeys());
+        assertTrue(child.hasForeignKeys());
+        assertEquals(50, pools.getPool("customers", "id").size());
+        assertTrue(customerIds.containsAll(referenced), "every order must reference a generated customer");
+    }
+
+    @Test
+    void testForeignKeyInPrimaryKeyCyclesThroughParentKeys() throws Exception {
+        TableMetadata profiles = new TableMetadata("profiles", List.of(
+                new ColumnMetadata("customer_id", "int8", false, true, null, null)),
+                List.of(new ForeignKeyMetadata("fk_profile", "customer_id", null, "customers", "id")));
+        ForeignKeyPools pools = new ForeignKeyPools("public", List.of(CUSTOMERS, profiles));
+        service.streamRows(CUSTOMERS, 30, 30, PrimaryKeyStrategy.NONE, pools.bind(CUSTOMERS)::capture);
+
+        ForeignKeyBinding child = pools.bind(profiles);
+        Set<Long> ids = new HashSet<>();
+        service.streamRows(profiles, 30, 7, PrimaryKeyStrategy.NONE, batch -> {
+            child.fill(batch);
+            for (int row = 0; row < batch.size(); row++) {
+                ids.add(batch.getLong(row, 0));
+            }
+        });
+
+        assertEquals(30, ids.size(), "one profile per customer keeps the primary key unique");
+    }
+
+    @Test
+    void testMissingParentKeysFailTheChild() {
+        ForeignKeyPools pools = new ForeignKeyPools("public", List.of(CUSTOMERS, ORDERS));
+        ForeignKeyBinding child = pools.bind(ORDERS);
+
+        assertThrows(IllegalStateException.class,
+                () -> service.streamRows(ORDERS, 1, 1, PrimaryKeyStrategy.NONE, child::fill));
+    }
+
+    @Test
+    void testCycleIsLoadedInParallelWithoutTheClosingReference() {
+        TableMetadata teams = new TableMetadata("teams", List.of(
+                new ColumnMetadata("id", "int4", false, true, null, null),
+                new ColumnMetadata("lead_id", "int4", true, false, null, null)),
+                List.of(new ForeignKeyMetadata("fk_lead", "lead_id", "public", "members", "id")));
+        TableMetadata members = new TableMetadata("members", List.of(
+                new ColumnMetadata("id", "int4", false, true, null, null),
+                new ColumnMetadata("team_id", "int4", false, false, null, null)),
+                List.of(new ForeignKeyMetadata("fk_team", "team_id", "public", "teams", "id")));
+        Map<String, TableMetadata> tables = Map.of("teams", teams, "members", members);
+        ForeignKeyPools pools = new ForeignKeyPools("public", List.of(members, teams));
+        Set<Object> teamIds = ConcurrentHashMap.newKeySet();
+        Set<Object> referenced = ConcurrentHashMap.newKeySet();
+
+        assertEquals(Map.of("teams", Set.of(), "members", Set.of("teams")), pools.getParents());
+        assertFalse(pools.bind(teams).hasForeignKeys(), "the reference closing the cycle is not followed");
+
+        ParallelTableLoader loader = new ParallelTableLoader(2, new Semaphore(2));
+        List<TableLoadResult> results = loader.loadAll(List.of("teams", "members"), pools.getParents(), table -> {
+            ForeignKeyBinding binding = pools.bind(tables.get(table));
+            service.streamRows(tables.get(table), 500, 50, PrimaryKeyStrategy.NONE, batch -> {
+                binding.fill(batch);
+                binding.capture(batch);
+                for (int row = 0; row < batch.size(); row++) {
+                    (table.equals("teams") ? teamIds : referenced).add(batch.getLong(row, table.equals("teams") ? 0 : 1));
+                }
+            });
+            return InsertStats.empty();
+        });
+
+        assertTrue(results.stream().allMatch(TableLoadResult::isSuccess), results.toString());
+        assertTrue(teamIds.containsAll(referenced), "every member must reference a generated team");
+    }
+}
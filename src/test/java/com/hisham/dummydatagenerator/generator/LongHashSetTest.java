@@ -0,0 +1,42 @@
+package com.hisham.dummydatagenerator.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void testAddReportsDuplicates() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(-1));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(7));
+    }
+
+    @Test
+    void testMatchesHashSetAcrossResizes() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextLong(-20_000, 20_000);
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        for (long key : expected) {
+            assertTrue(set.contains(key));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimaryKeyStrategyTest {
+
+    private final DummyDataService service = new DummyDataService();
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:pkstrategy;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        execute("CREATE SCHEMA IF NOT EXISTS TEST");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("DROP TABLE IF EXISTS TEST.KEYS");
+    }
+
+    @Test
+    void testIntegerKeysAreAllocatedAboveMax() throws SQLException {
+        execute("CREATE TABLE TEST.KEYS (id INT PRIMARY KEY, name VARCHAR(20))");
+        execute("INSERT INTO TEST.KEYS VALUES (5, 'a'), (17, 'b')");
+        TableMetadata table = table("int4", "varchar");
+
+        PrimaryKeyStrategy keys = service.primaryKeyStrategy(dataSource, table, "TEST", 20);
+        List<Object> ids = new ArrayList<>();
+        for (int tnx = 0; tnx < 2; tnx++) {
+            service.streamRows(table, 10, 4, keys, batch -> {
+                for (int row = 0; row < batch.size(); row++) {
+                    ids.add(batch.get(row, 0));
+                }
+            });
+        }
+
+        assertInstanceOf(SequentialKeyStrategy.class, keys);
+        assertEquals(18, ids.get(0));
+        assertEquals(37, ids.get(19));
+    }
+
+    @Test
+    void testFullSmallintRangeFallsBackToPrimitiveSet() throws SQLException {
+        execute("CREATE TABLE TEST.KEYS (id SMALLINT PRIMARY KEY)");
+        execute("INSERT INTO TEST.KEYS VALUES (1), (32767)");
+        TableMetadata table = new TableMetadata("KEYS", List.of(
+                new ColumnMetadata("id", "int2", false, true, null, null)));
+
+        PrimaryKeyStrategy keys = service.primaryKeyStrategy(dataSource, table, "TEST", 100);
+        Set<Object> ids = new HashSet<>();
+        service.streamRows(table, 100, 100, keys, batch -> {
+            for (int row = 0; row < batch.size(); row++) {
+                ids.add(batch.get(row, 0));
+            }
+        });
+
+        assertInstanceOf(LongKeySetStrategy.class, keys);
+        assertEquals(100, ids.size());
+        assertFalse(ids.contains(1));
+        assertFalse(ids.contains(32767));
+    }
+
+    @Test
+    void testNonIntegerKeysAreCheckedAgainstExistingKeys() throws SQLException {
+        execute("CREATE TABLE TEST.KEYS (flag BOOLEAN PRIMARY KEY)");
+        execute("INSERT INTO TEST.KEYS VALUES (TRUE)");
+        TableMetadata table = new TableMetadata("KEYS", List.of(
+                new ColumnMetadata("flag", "bool", false, true, null, null)));
+
+        PrimaryKeyStrategy keys = service.primaryKeyStrategy(dataSource, table, "TEST", 1);
+        RowBatch[] generated = new RowBatch[1];
+        service.streamRows(table, 1, 1, keys, batch -> generated[0] = batch);
+
+        assertInstanceOf(KeySetStrategy.class, keys);
+        assertEquals(false, generated[0].get(0, 0));
+    }
+
+    @Test
+    void testTableWithoutPrimaryKeyNeedsNoStrategy() {
+        TableMetadata table = new TableMetadata("KEYS", List.of(
+                new ColumnMetadata("name", "varchar", true, false, 20, null)));
+
+        assertSame(PrimaryKeyStrategy.NONE, service.primaryKeyStrategy(null, table, "TEST", 10));
+    }
+
+    private static TableMetadata table(String idType, String nameType) {
+        return new TableMetadata("KEYS", List.of(
+                new ColumnMetadata("id", idType, false, true, null, null),
+                new ColumnMetadata("name", nameType, true, false, 20, null)));
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomStreamsTest {
+
+    private static final TableMetadata TABLE = new TableMetadata("events", List.of(
+            new ColumnMetadata("id", "int8", false, true, null, null),
+            new ColumnMetadata("name", "varchar", true, false, 30, null),
+            new ColumnMetadata("qty", "int4", true, false, null, null),
+            new ColumnMetadata("price", "numeric", true, false, 8, 2),
+            new ColumnMetadata("payload", "bytea", true, false, null, null),
+            new ColumnMetadata("at", "timestamptz", true, false, null, null),
+            new ColumnMetadata("day", "date", true, false, null, null)));
+
+    private static List<String> rows(long seed, long rowCount, int chunkSize) {
+        List<String> rows = new ArrayList<>();
+        RandomStreams streams = RandomStreams.seeded(seed, TABLE.getTableName());
+        new DummyDataService().streamRows(TABLE, rowCount, chunkSize, PrimaryKeyStrategy.NONE, streams,
+                batch -> rows.addAll(render(batch)));
+        return rows;
+    }
+
+    private static List<String> render(RowBatch batch) {
+        List<String> rows = new ArrayList<>();
+        for (int r = 0; r < batch.size(); r++) {
+            rows.add(Arrays.deepToString(batch.row(r)));
+        }
+        return rows;
+    }
+
+    @Test
+    void testSameSeedGeneratesSameRows() {
+        assertEquals(rows(42, 250, 100), rows(42, 250, 100));
+    }
+
+    @Test
+    void testDifferentSeedsGenerateDifferentRows() {
+        assertNotEquals(rows(42, 10, 100), rows(43, 10, 100));
+    }
+
+    @Test
+    void testChunkDoesNotDependOnThreadOrOrder() throws Exception {
+        RowPlan plan = RowPlan.compile(TABLE);
+        RandomStreams streams = RandomStreams.seeded(42, TABLE.getTableName());
+
+        // Chunks 2, 1 and 0 generated out of order on other threads
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (long chunk = 2; chunk >= 0; chunk--) {
+            long c = chunk;
+            chunks.add(0, CompletableFuture.supplyAsync(() -> {
+                RowBatch batch = plan.newBatch(100);
+                plan.fill(batch, c == 2 ? 50 : 100, streams, c, null);
+                return render(batch);
+            }));
+        }
+        List<String> parallel = new ArrayList<>();
+        for (CompletableFuture<List<String>> chunk : chunks) {
+            parallel.addAll(chunk.get());
+        }
+
+        assertEquals(rows(42, 250, 100), parallel);
+    }
+
+    @Test
+    void testConsecutiveCallsContinueTheChunkNumbering() {
+        RandomStreams streams = RandomStreams.seeded(42, TABLE.getTableName());
+        DummyDataService service = new DummyDataService();
+        List<String> rows = new ArrayList<>();
+        service.streamRows(TABLE, 100, 100, PrimaryKeyStrategy.NONE, streams, batch -> rows.addAll(render(batch)));
+        service.streamRows(TABLE, 100, 100, PrimaryKeyStrategy.NONE, streams, batch -> rows.addAll(render(batch)));
+
+        assertEquals(rows(42, 200, 100), rows);
+    }
+
+    @Test
+    void testTablesOfTheSameSeedAreIndependent() {
+        RowPlan plan = RowPlan.compile(TABLE);
+        RowBatch first = plan.newBatch(10);
+        RowBatch second = plan.newBatch(10);
+        plan.fill(first, 10, RandomStreams.seeded(42, "events"), 0, null);
+        plan.fill(second, 10, RandomStreams.seeded(42, "orders"), 0, null);
+
+        assertNotEquals(render(first), render(second));
+    }
+
+    @Test
+    void testReplacementKeysAreReproducible() {
+        TableMetadata table = new TableMetadata("codes", List.of(
+                new ColumnMetadata("code", "int2", false, true, null, null)));
+        List<List<String>> runs = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            RowPlan plan = RowPlan.compile(table);
+            ConcurrentLongHashSet existing = new ConcurrentLongHashSet();
+            for (long key = -32768; key < 0; key++) {
+                existing.add(key); // half the key space is taken, so about half the keys are regenerated
+            }
+            List<String> rows = new ArrayList<>();
+            new DummyDataService().streamRows(table, 1000, 100, new LongKeySetStrategy(plan, existing),
+                    RandomStreams.seeded(7, "codes"), batch -> rows.addAll(render(batch)));
+            runs.add(rows);
+        }
+
+        assertEquals(runs.get(0), runs.get(1));
+    }
+}
@@ -0,0 +1,121 @@
+package com.hisham.dummydatagenerator.generator;
+
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampGeneratorTest {
+
+    @Test
+    void testGenerateStaysWithinRange() {
+        TimestampGenerator generator = new TimestampGenerator(EpochRange.uniform(1_000_000, 2_000_000));
+
+        for (int i = 0; i < 1000; i++) {
+            OffsetDateTime value = (OffsetDateTime) generator.generate();
+            long micros = TimestampGenerator.toEpochMicros(value.toInstant());
+            assertTrue(micros >= 1_000_000 && micros < 2_000_000, value.toString());
+            assertEquals(ZoneOffset.UTC, value.getOffset());
+        }
+    }
+
+    @Test
+    void testDefaultRangeMovesWithTheClock() {
+        Instant[] now = {Instant.parse("2024-03-10T15:00:00Z")};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        TimestampGenerator generator = new TimestampGenerator(clock, 30);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] values = new long[1000];
+
+        generator.fill(values, 0, values.length, random);
+        assertWithin(values, Instant.parse("2024-02-09T00:00:00Z"), Instant.parse("2024-03-10T00:00:00Z"));
+
+        now[0] = now[0].plus(60, ChronoUnit.DAYS);
+        generator.fill(values, 0, values.length, random);
+        assertWithin(values, Instant.parse("2024-04-09T00:00:00Z"), Instant.parse("2024-05-09T00:00:00Z"));
+    }
+
+    private static void assertWithin(long[] values, Instant from, Instant to) {
+        for (long value : values) {
+            assertTrue(value >= TimestampGenerator.toEpochMicros(from) && value < TimestampGenerator.toEpochMicros(to),
+                    TimestampGenerator.toOffsetDateTime(value).toString());
+        }
+    }
+
+    @Test
+    void testEpochMicrosRoundTripBeforeEpoch() {
+        OffsetDateTime value = OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000, ZoneOffset.UTC);
+
+        assertEquals(-1, TimestampGenerator.toEpochMicros(value.toInstant()));
+        assertEquals(value, TimestampGenerator.toOffsetDateTime(-1));
+    }
+
+    @Test
+    void testSkewMovesValuesTowardsTheEnd() {
+        SplittableRandom random = new SplittableRandom(7);
+        long[] uniform = new long[10_000];
+        long[] skewed = new long[10_000];
+        EpochRange.uniform(0, 1_000_000).fill(uniform, 0, uniform.length, random);
+        EpochRange.skewed(0, 1_000_000, 4).fill(skewed, 0, skewed.length, random);
+
+        double uniformMean = Arrays.stream(uniform).average().orElseThrow();
+        double skewedMean = Arrays.stream(skewed).average().orElseThrow();
+        assertTrue(uniformMean > 450_000 && uniformMean < 550_000, "uniform mean " + uniformMean);
+        assertTrue(skewedMean > 750_000, "skewed mean " + skewedMean);
+        assertTrue(Arrays.stream(skewed).allMatch(v -> v >= 0 && v < 1_000_000));
+    }
+
+    @Test
+    void testMonotonicRangeIncreasesAndWraps() {
+        SplittableRandom random = new SplittableRandom(7);
+        EpochRange range = EpochRange.monotonic(100, 110, 3);
+        long[] values = new long[5];
+        range.fill(values, 0, 5, random);
+
+        assertArrayEquals(new long[] {100, 103, 106, 109, 102}, values);
+        assertEquals(105, range.next(random));
+    }
+
+    @Test
+    void testPlanStoresTimestampsAsEpochMicros() {
+        TableMetadata table = new TableMetadata("events", List.of(
+                new ColumnMetadata("at", "timestamptz", false, false, null, null),
+                new ColumnMetadata("day", "date", false, false, null, null)));
+        RowPlan plan = RowPlan.compile(table);
+        RowBatch batch = plan.newBatch(10);
+        plan.fill(batch, 10);
+
+        assertEquals(RowBatch.ColumnKind.TIMESTAMP, batch.kind(0));
+        assertEquals(TimestampGenerator.toOffsetDateTime(batch.getEpochMicros(3, 0)), batch.get(3, 0));
+        assertFalse(batch.isIntegral(0));
+        LocalDate day = (LocalDate) batch.get(3, 1);
+        assertTrue(!day.isBefore(LocalDate.of(2000, 1, 1)) && day.isBefore(LocalDate.of(2022, 12, 31)));
+    }
+}
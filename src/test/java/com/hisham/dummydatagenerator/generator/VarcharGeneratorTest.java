@@ -45,4 +45,44 @@ class VarcharGeneratorTest {
         assertTrue(result.length() >= 1);
         assertTrue(result.length() <= 1);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGenerateUsesOnlyAlphabet() {
+        VarcharGenerator generator = new VarcharGenerator(5, 40, "xyz", VarcharGenerator.LengthDistribution.UNIFORM);
+        Object[] values = new Object[500];
+        generator.fill(values, 0, values.length);
+
+        for (Object value : values) {
+            String s = (String) value;
+            assertTrue(s.length() >= 5 && s.length() <= 40, s);
+            assertTrue(s.chars().allMatch(c -> c == 'x' || c == 'y' || c == 'z'), s);
+        }
+    }
+
+    @Test
+    void testUniformLengthsReachColumnSize() {
+        VarcharGenerator generator = new VarcharGenerator(4);
+        boolean[] seen = new boolean[5];
+        for (int i = 0; i < 1000; i++) {
+            seen[((String) generator.generate()).length()] = true;
+        }
+
+        assertArrayEquals(new boolean[] {false, true, true, true, true}, seen);
+    }
+
+    @Test
+    void testTextLengthsAreSkewedBeyondUuidLength() {
+        VarcharGenerator generator = new VarcharGenerator(Integer.MAX_VALUE - 1);
+        long total = 0;
+        int longest = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int length = ((String) generator.generate()).length();
+            total += length;
+            longest = Math.max(longest, length);
+        }
+
+        double mean = total / 10_000.0;
+        assertTrue(mean > 50 && mean < 80, "mean length " + mean);
+        assertTrue(longest > 36, "longest " + longest);
+    }
+}
@@ -0,0 +1,109 @@
+package com.hisham.dummydatagenerator.job;
+
+import com.hisham.dummydatagenerator.config.JobProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobServiceTest {
+
+    private JobService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testJobReportsProgressAndResult() throws Exception {
+        service = new JobService(new JobProperties());
+
+        GenerationJob job = service.submit("test", 30, progress -> {
+            for (int i = 0; i < 3; i++) {
+                progress.checkCancelled();
+                progress.addRows(10);
+            }
+            return "done";
+        });
+        awaitFinished(job);
+
+        assertEquals(GenerationJob.State.SUCCEEDED, job.getState());
+        assertEquals(30, job.getRowsDone());
+        assertEquals("done", job.getResult());
+        assertSame(job, service.get(job.getId()).orElseThrow());
+    }
+
+    @Test
+    void testRunningJobStopsWhenCancelled() throws Exception {
+        service = new JobService(new JobProperties());
+        CountDownLatch started = new CountDownLatch(1);
+
+        GenerationJob job = service.submit("endless", 0, progress -> {
+            started.countDown();
+            while (true) {
+                progress.checkCancelled();
+                progress.addRows(1);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        service.cancel(job.getId());
+        awaitFinished(job);
+
+        assertEquals(GenerationJob.State.CANCELLED, job.getState());
+    }
+
+    @Test
+    void testFailedJobKeepsError() throws Exception {
+        service = new JobService(new JobProperties());
+
+        GenerationJob job = service.submit("failing", 10, progress -> {
+            throw new IllegalStateException("boom");
+        });
+        awaitFinished(job);
+
+        assertEquals(GenerationJob.State.FAILED, job.getState());
+        assertEquals("boom", job.getError());
+    }
+
+    @Test
+    void testJobFailingWithAnErrorIsMarkedFailed() throws Exception {
+        service = new JobService(new JobProperties());
+
+        GenerationJob job = service.submit("overflowing", 10, progress -> {
+            throw new StackOverflowError("too deep");
+        });
+        awaitFinished(job);
+
+        assertEquals(GenerationJob.State.FAILED, job.getState());
+        assertEquals("too deep", job.getError());
+    }
+
+    @Test
+    void testSubmissionsBeyondQueueAreRejected() throws Exception {
+        JobProperties properties = new JobProperties();
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(1);
+        service = new JobService(properties);
+        CountDownLatch release = new CountDownLatch(1);
+
+        service.submit("running", 0, progress -> release.await(5, TimeUnit.SECONDS));
+        GenerationJob queued = service.submit("queued", 0, progress -> null);
+
+        assertThrows(RejectedExecutionException.class, () -> service.submit("rejected", 0, progress -> null));
+        service.cancel(queued.getId());
+        assertEquals(GenerationJob.State.CANCELLED, queued.getState());
+        release.countDown();
+    }
+
+    private static void awaitFinished(GenerationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.getState().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.dto.TableDataMessage;
+import com.hisham.dummydatagenerator.generator.DummyDataService;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarMessageCodecTest {
+
+    private static final TableMetadata TABLE = new TableMetadata("orders", List.of(
+            new ColumnMetadata("id", "int4", false, true, null, null),
+            new ColumnMetadata("total", "int8", false, false, null, null),
+            new ColumnMetadata("note", "varchar", true, false, 20, null),
+            new ColumnMetadata("shipped", "bool", true, false, null, null),
+            new ColumnMetadata("day", "date", true, false, null, null),
+            new ColumnMetadata("created", "timestamptz", true, false, null, null)));
+
+    @Test
+    void testRoundTripKeepsValuesAndNulls() {
+        OffsetDateTime created = OffsetDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000, ZoneOffset.UTC);
+        // Generated timestamps are stored as primitives, which cannot be null
+        RowBatch batch = new RowBatch(TABLE, 2, new RowBatch.ColumnKind[] {
+                RowBatch.ColumnKind.INT, RowBatch.ColumnKind.LONG, RowBatch.ColumnKind.OBJECT,
+                RowBatch.ColumnKind.OBJECT, RowBatch.ColumnKind.OBJECT, RowBatch.ColumnKind.OBJECT});
+        batch.addRow(1, 10_000_000_000L, "first", true, LocalDate.of(2024, 5, 1), created);
+        batch.addRow(2, -1L, null, null, null, null);
+
+        List<TableDataMessage> rows = ColumnarMessageCodec.decode(
+                new ColumnarMessageCodec("public", TABLE).encode(batch, 0, 2));
+
+        assertEquals(2, rows.size());
+        assertEquals("orders", rows.get(0).getTableName());
+        assertEquals("public", rows.get(0).getSchema());
+        assertEquals(1, rows.get(0).getData().get("id"));
+        assertEquals(10_000_000_000L, rows.get(0).getData().get("total"));
+        assertEquals("first", rows.get(0).getData().get("note"));
+        assertEquals(true, rows.get(0).getData().get("shipped"));
+        assertEquals(LocalDate.of(2024, 5, 1), rows.get(0).getData().get("day"));
+        assertEquals(created, rows.get(0).getData().get("created"));
+        assertNull(rows.get(1).getData().get("note"));
+        assertTrue(rows.get(1).getData().containsKey("created"));
+        assertNull(rows.get(1).getData().get("created"));
+    }
+
+    @Test
+    void testGeneratedTimestampsAreWrittenAsEpochMicros() {
+        OffsetDateTime created = OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000, ZoneOffset.UTC);
+        RowBatch batch = new DummyDataService().getRowPlan(TABLE).newBatch(1);
+        batch.addRow(1, 2L, "n", false, LocalDate.of(2024, 5, 1), created);
+
+        List<TableDataMessage> rows = ColumnarMessageCodec.decode(
+                new ColumnarMessageCodec("public", TABLE).encode(batch, 0, 1));
+
+        assertEquals(RowBatch.ColumnKind.TIMESTAMP, batch.kind(5));
+        assertEquals(-1L, batch.getEpochMicros(0, 5));
+        assertEquals(created, rows.get(0).getData().get("created"));
+    }
+
+    @Test
+    void testColumnNamesAreWrittenOncePerRecord() {
+        RowBatch batch = new DummyDataService().getRowPlan(TABLE).newBatch(1000);
+        new DummyDataService().getRowPlan(TABLE).fill(batch, 1000);
+        ColumnarMessageCodec codec = new ColumnarMessageCodec("public", TABLE);
+
+        int oneRow = codec.encode(batch, 0, 1).length;
+        int manyRows = codec.encode(batch, 0, 1000).length;
+
+        assertTrue(manyRows - oneRow < 999 * oneRow / 2, "the header should not repeat per row");
+    }
+
+    @Test
+    void testRejectsOtherPayloads() {
+        assertThrows(IllegalArgumentException.class, () -> ColumnarMessageCodec.decode("{}".getBytes()));
+    }
+}
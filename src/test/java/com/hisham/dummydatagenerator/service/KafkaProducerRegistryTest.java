@@ -0,0 +1,110 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.config.KafkaConfig;
+import com.hisham.dummydatagenerator.config.KafkaProducerProperties;
+import com.hisham.dummydatagenerator.dto.KafkaProducerConfig;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaProducerRegistryTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void testEqualConfigurationsShareAProducer() {
+        KafkaProducerRegistry registry = registry(new KafkaProducerProperties());
+
+        KafkaTemplate<String, Object> first;
+        try (KafkaProducerRegistry.Lease lease = registry.acquire(config("kafka:9092", "zstd"))) {
+            first = lease.template();
+        }
+        try (KafkaProducerRegistry.Lease same = registry.acquire(config("kafka:9092", "zstd"));
+             KafkaProducerRegistry.Lease other = registry.acquire(config("kafka:9092", "gzip"))) {
+            assertSame(first, same.template());
+            assertNotSame(first, other.template());
+        }
+
+        assertEquals(2, created.get());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testIdleProducersAreClosedUnlessLeased() {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setProducerIdleTimeout(Duration.ZERO);
+        KafkaProducerRegistry registry = registry(properties);
+
+        KafkaProducerRegistry.Lease leased = registry.acquire(config("a:9092", null));
+        registry.acquire(config("b:9092", null)).close();
+        registry.evictIdleProducers();
+
+        assertEquals(1, registry.size());
+        assertEquals(1, closed.get());
+
+        leased.close();
+        registry.evictIdleProducers();
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testMaxProducersClosesLeastRecentlyUsed() {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setMaxProducers(1);
+        KafkaProducerRegistry registry = registry(properties);
+
+        registry.acquire(config("a:9092", null)).close();
+        registry.acquire(config("b:9092", null)).close();
+
+        assertEquals(1, registry.size());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void testShutdownClosesEveryProducer() {
+        KafkaProducerRegistry registry = registry(new KafkaProducerProperties());
+        registry.acquire(config("a:9092", null));
+        registry.acquire(null).close();
+
+        registry.closeAll();
+
+        assertEquals(0, registry.size());
+        assertEquals(2, closed.get());
+    }
+
+    private KafkaProducerRegistry registry(KafkaProducerProperties properties) {
+        return new KafkaProducerRegistry(properties, new KafkaConfig() {
+            @Override
+            public KafkaTemplate<String, Object> createKafkaTemplate(KafkaProducerConfig config) {
+                created.incrementAndGet();
+                return new KafkaTemplate<>(new ProducerFactory<>() {
+                    @Override
+                    public Producer<String, Object> createProducer() {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public void reset() {
+                        closed.incrementAndGet();
+                    }
+                });
+            }
+        });
+    }
+
+    private static KafkaProducerConfig config(String bootstrapServers, String compression) {
+        KafkaProducerConfig config = new KafkaProducerConfig();
+        config.setBootstrapServers(bootstrapServers);
+        if (compression != null) {
+            config.addProperty("compression.type", compression);
+        }
+        return config;
+    }
+}
@@ -0,0 +1,132 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.config.KafkaConfig;
+import com.hisham.dummydatagenerator.config.KafkaProducerProperties;
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import com.hisham.dummydatagenerator.connectors.RowWriter;
+import com.hisham.dummydatagenerator.dto.KafkaProducerConfig;
+import com.hisham.dummydatagenerator.generator.RowBatch;
+import com.hisham.dummydatagenerator.schema.ColumnMetadata;
+import com.hisham.dummydatagenerator.schema.TableMetadata;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaServiceTest {
+
+    private static final TableMetadata TABLE = new TableMetadata("items", List.of(
+            new ColumnMetadata("id", "int4", false, true, null, null)));
+
+    @Test
+    void testFinishReportsAcknowledgedRows() throws Exception {
+        SharedMockProducer producer = new SharedMockProducer(true);
+        RowWriter writer = service(producer).openWriter("topic", "items", "public", TABLE, null);
+
+        writer.write(batch(5));
+        writer.write(batch(3));
+        InsertStats stats = writer.finish();
+
+        assertEquals(8, producer.history().size());
+        assertEquals(8, stats.getRows());
+        assertEquals(2, stats.getBatches());
+    }
+
+    @Test
+    void testInFlightWindowHoldsBackSends() throws Exception {
+        SharedMockProducer producer = new SharedMockProducer(false);
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig();
+        producerConfig.setMaxInFlightRecords(2);
+        RowWriter writer = service(producer).openWriter("topic", "items", "public", TABLE, producerConfig);
+
+        CompletableFuture<Void> sending = CompletableFuture.runAsync(() -> {
+            try {
+                writer.write(batch(3));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertEquals(2, producer.history().size(), "the third record waits for an acknowledgement");
+        assertFalse(sending.isDone());
+
+        assertTrue(producer.completeNext());
+        sending.get(5, TimeUnit.SECONDS);
+        assertEquals(3, producer.history().size());
+    }
+
+    @Test
+    void testDeliveryFailuresFailTheLoad() throws Exception {
+        SharedMockProducer producer = new SharedMockProducer(false);
+        RowWriter writer = service(producer).openWriter("topic", "items", "public", TABLE, null);
+
+        writer.write(batch(2));
+        producer.completeNext();
+        producer.errorNext(new RuntimeException("broker down"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, writer::finish);
+        assertTrue(e.getMessage().contains("1 of 2 rows"), e.getMessage());
+    }
+
+    @Test
+    void testColumnarFormatPacksRowsIntoRecords() throws Exception {
+        SharedMockProducer producer = new SharedMockProducer(true);
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig();
+        producerConfig.setMessageFormat(KafkaProducerConfig.MessageFormat.COLUMNAR);
+        producerConfig.setRowsPerRecord(4);
+        RowWriter writer = service(producer).openWriter("topic", "items", "public", TABLE, producerConfig);
+
+        writer.write(batch(10));
+        InsertStats stats = writer.finish();
+
+        assertEquals(3, producer.history().size());
+        assertEquals(10, stats.getRows());
+        byte[] last = (byte[]) producer.history().get(2).value();
+        assertEquals(List.of(8, 9), ColumnarMessageCodec.decode(last).stream()
+                .map(message -> message.getData().get("id")).toList());
+    }
+
+    private static RowBatch batch(int rows) {
+        RowBatch batch = new RowBatch(TABLE, rows);
+        for (int i = 0; i < rows; i++) {
+            batch.addRow(i);
+        }
+        return batch;
+    }
+
+    private static KafkaService service(SharedMockProducer producer) {
+        return new KafkaService(new KafkaProducerRegistry(new KafkaProducerProperties(), config(producer)));
+    }
+
+    private static KafkaConfig config(MockProducer<String, Object> producer) {
+        return new KafkaConfig() {
+            @Override
+            public KafkaTemplate<String, Object> createKafkaTemplate(KafkaProducerConfig config) {
+                ProducerFactory<String, Object> factory = () -> producer;
+                return new KafkaTemplate<>(factory);
+            }
+        };
+    }
+
+    /**
+     * A mock producer that survives the template closing it after each send, like the shared producer of
+     * DefaultKafkaProducerFactory does. Values are serialized with toString.
+     */
+    private static final class SharedMockProducer extends MockProducer<String, Object> {
+        SharedMockProducer(boolean autoComplete) {
+            super(autoComplete, new StringSerializer(), (topic, value) -> value.toString().getBytes());
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.hisham.dummydatagenerator.service;
+
+import com.hisham.dummydatagenerator.config.LoadThreads;
+import com.hisham.dummydatagenerator.connectors.InsertStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ParallelTableLoaderTest {
+
+    private static final List<String> TABLES = List.of("a", "b", "c", "d", "e", "f");
+
+    @Test
+    void testResultsKeepTableOrderAndIsolateFailures() {
+        ParallelTableLoader loader = new ParallelTableLoader(3, new Semaphore(3));
+
+        List<TableLoadResult> results = loader.loadAll(TABLES, table -> {
+            if (table.equals("c")) {
+                throw new IllegalStateException("broken table");
+            }
+            return new InsertStats(10, 1, 1_000_000);
+        });
+
+        assertEquals(TABLES, results.stream().map(TableLoadResult::table).toList());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("broken table", results.get(2).error());
+        assertEquals(5, results.stream().filter(TableLoadResult::isSuccess).count());
+    }
+
+    @Test
+    void testConnectionBudgetLimitsConcurrentLoads() {
+        ParallelTableLoader loader = new ParallelTableLoader(6, new Semaphore(2));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        loader.loadAll(TABLES, table -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return InsertStats.empty();
+        });
+
+        assertTrue(maxRunning.get() <= 2, "at most two tables should load at once");
+    }
+
+    @Test
+    void testCancellationStopsTheLoad() {
+        ParallelTableLoader loader = new ParallelTableLoader(2, new Semaphore(2));
+
+        assertThrows(CancellationException.class, () -> loader.loadAll(TABLES, table -> {
+            throw new CancellationException("cancelled");
+        }));
+    }
+
+    @Test
+    void testParentsLoadBeforeChildren() {
+        ParallelTableLoader loader = new ParallelTableLoader(4, new Semaphore(4));
+        Map<String, Set<String>> parents = Map.of(
+                "b", Set.of("a"),
+                "c", Set.of("a"),
+                "d", Set.of("b", "c"),
+                "f", Set.of("f", "outside"));
+        List<String> loaded = Collections.synchronizedList(new ArrayList<>());
+
+        List<TableLoadResult> results = loader.loadAll(TABLES, parents, table -> {
+            loaded.add(table);
+            return InsertStats.empty();
+        });
+
+        assertEquals(TABLES, results.stream().map(TableLoadResult::table).toList());
+        assertTrue(results.stream().allMatch(TableLoadResult::isSuccess));
+        assertTrue(loaded.indexOf("a") < loaded.indexOf("b"));
+        assertTrue(loaded.indexOf("a") < loaded.indexOf("c"));
+        assertTrue(loaded.indexOf("b") < loaded.indexOf("d"));
+        assertTrue(loaded.indexOf("c") < loaded.indexOf("d"));
+    }
+
+    @Test
+    void testChildrenOfFailedParentsAreNotLoaded() {
+        ParallelTableLoader loader = new ParallelTableLoader(1, new Semaphore(1));
+        Map<String, Set<String>> parents = Map.of("b", Set.of("a"), "c", Set.of("b"));
+        List<String> loaded = new ArrayList<>();
+
+        List<TableLoadResult> results = loader.loadAll(TABLES, parents, table -> {
+            loaded.add(table);
+            if (table.equals("a")) {
+                throw new IllegalStateException("broken table");
+            }
+            return InsertStats.empty();
+        });
+
+        assertEquals(List.of("a", "d", "e", "f"), loaded);
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Parent table b failed", results.get(2).error());
+    }
+
+    @Test
+    void testCyclesAreLoadedInTableOrder() {
+        ParallelTableLoader loader = new ParallelTableLoader(1, new Semaphore(1));
+        Map<String, Set<String>> parents = Map.of("a", Set.of("b"), "b", Set.of("a"), "c", Set.of("d"));
+        List<String> loaded = new ArrayList<>();
+
+        loader.loadAll(TABLES, parents, table -> {
+            loaded.add(table);
+            return InsertStats.empty();
+        });
+
+        assertEquals(6, loaded.size());
+        assertTrue(loaded.indexOf("d") < loaded.indexOf("c"));
+    }
+
+    @Test
+    void testPlatformThreadsAreNamedDaemons() {
+        ParallelTableLoader loader = new ParallelTableLoader(2, new Semaphore(2), LoadThreads.PLATFORM);
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+        loader.loadAll(TABLES, table -> {
+            threads.add(Thread.currentThread());
+            return InsertStats.empty();
+        });
+
+        assertTrue(threads.stream().allMatch(t -> t.isDaemon() && t.getName().startsWith("ddg-load-")), threads.toString());
+    }
+
+    @Test
+    void testVirtualThreadsAreBoundedByTheConnectionBudget() {
+        assumeTrue(LoadThreads.isVirtualSupported(), "virtual threads need Java 21");
+        ParallelTableLoader loader = new ParallelTableLoader(100, new Semaphore(4), LoadThreads.virtual());
+        List<String> tables = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tables.add("t" + i);
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> threadNames = Collections.synchronizedSet(new java.util.HashSet<>());
+
+        List<TableLoadResult> results = loader.loadAll(tables, table -> {
+            threadNames.add(Thread.currentThread().getName());
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return InsertStats.empty();
+        });
+
+        assertTrue(results.stream().allMatch(TableLoadResult::isSuccess));
+        assertTrue(maxRunning.get() <= 4, "the connection budget bounds the load, not the thread count");
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("ddg-load-")), threadNames.toString());
+    }
+
+    @Test
+    void testVirtualThreadsAreRejectedBeforeJava21() {
+        assumeFalse(LoadThreads.isVirtualSupported());
+
+        assertThrows(IllegalStateException.class, LoadThreads::virtual);
+    }
+}